@@ -0,0 +1,48 @@
+package dantesyh.utils.benchmark;
+
+import dantesyh.utils.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FileUtils 基准测试
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileUtilsBenchmark {
+    private byte[] jpg;
+
+    @Setup
+    public void setup() throws Exception {
+        // 生成带渐变和噪点的图像，避免依赖测试资源文件
+        BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(1);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int r = (x * 255 / image.getWidth() + random.nextInt(32)) & 0xFF;
+                int g = (y * 255 / image.getHeight() + random.nextInt(32)) & 0xFF;
+                image.setRGB(x, y, (r << 16) | (g << 8) | random.nextInt(64));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        jpg = out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] compressJPG() throws Exception {
+        return FileUtils.compressJPG(jpg, 0.5f);
+    }
+}
@@ -0,0 +1,87 @@
+package dantesyh.utils.benchmark;
+
+import com.google.gson.reflect.TypeToken;
+import dantesyh.utils.JsonUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonUtils 基准测试
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonUtilsBenchmark {
+
+    public record Person(String name, int age, String email, List<String> tags) {
+    }
+
+    private Person person;
+    private String personJson;
+    private List<Person> people;
+    private String peopleJson;
+    private byte[] peopleBinary;
+    private final TypeToken<List<Person>> peopleType = new TypeToken<>() {
+    };
+
+    @Setup
+    public void setup() {
+        person = new Person("Alice", 25, "alice@example.com", List.of("admin", "ops"));
+        personJson = JsonUtils.toJson(person);
+        people = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            people.add(new Person("Person" + i, 20 + i % 50, "p" + i + "@example.com", List.of("tag" + i)));
+        }
+        peopleJson = JsonUtils.toJson(people);
+        peopleBinary = JsonUtils.toBinary(people);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return JsonUtils.toJson(person);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String toJsonThreads() {
+        return JsonUtils.toJson(person);
+    }
+
+    @Benchmark
+    public Person fromJson() {
+        return JsonUtils.fromJson(personJson, Person.class);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String toJsonList() {
+        return JsonUtils.toJson(people);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Person> fromJsonList() {
+        return JsonUtils.fromJsonList(peopleJson, Person.class);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] toBinaryList() {
+        return JsonUtils.toBinary(people);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Person> fromBinaryList() {
+        return JsonUtils.fromBinary(peopleBinary, peopleType);
+    }
+}
@@ -0,0 +1,42 @@
+package dantesyh.utils.benchmark;
+
+import dantesyh.utils.NetworkUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NetworkUtils 基准测试
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NetworkUtilsBenchmark {
+    private MockHttpServletRequest forwardedRequest;
+    private MockHttpServletRequest directRequest;
+
+    @Setup
+    public void setup() {
+        forwardedRequest = new MockHttpServletRequest();
+        forwardedRequest.addHeader("X-Forwarded-For", "203.0.113.7");
+        directRequest = new MockHttpServletRequest();
+        directRequest.setRemoteAddr("198.51.100.23");
+    }
+
+    @Benchmark
+    public String getClientIpForwarded() {
+        return NetworkUtils.getClientIp(forwardedRequest);
+    }
+
+    @Benchmark
+    public String getClientIpDirect() {
+        return NetworkUtils.getClientIp(directRequest);
+    }
+}
@@ -0,0 +1,48 @@
+package dantesyh.utils.benchmark;
+
+import dantesyh.utils.RandomUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RandomUtils 基准测试
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RandomUtilsBenchmark {
+
+    @Benchmark
+    public String genUUID() {
+        return RandomUtils.genUUID();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String genUUIDThreads() {
+        return RandomUtils.genUUID();
+    }
+
+    @Benchmark
+    public String generateRandomPassword() {
+        return RandomUtils.generateRandomPassword(16);
+    }
+
+    @Benchmark
+    public String genRandomCode() {
+        return RandomUtils.genRandomCode(6);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String genRandomCodeThreads() {
+        return RandomUtils.genRandomCode(6);
+    }
+}
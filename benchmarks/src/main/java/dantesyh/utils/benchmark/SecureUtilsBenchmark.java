@@ -0,0 +1,127 @@
+package dantesyh.utils.benchmark;
+
+import dantesyh.utils.SecureUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SecureUtils 基准测试
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecureUtilsBenchmark {
+    private static final String SECRET_KEY = "myseckeyeyhds";
+    private static final String TEXT = "{\"orderId\":\"20230831000123\",\"amount\":12800,\"currency\":\"CNY\"}";
+    private static final String LOG_LINE = "2023/08/31 15:30:00 INFO login user=dante.syh@gmail.com phone=18806608995 id=11010119900307123X ok";
+
+    private SecureUtils.AesKey aesKey;
+    private String aesEncrypted;
+    private String publicKey;
+    private String privateKey;
+    private PublicKey rsaPublicKey;
+    private PrivateKey rsaPrivateKey;
+    private String rsaEncrypted;
+    private byte[] data;
+    private String signature;
+
+    @Setup
+    public void setup() throws Exception {
+        aesKey = SecureUtils.AesKey.of(SECRET_KEY);
+        aesEncrypted = SecureUtils.encryptAES(TEXT, SECRET_KEY);
+
+        Map<String, String> keyPairMap = SecureUtils.keyPairMap();
+        publicKey = keyPairMap.get(SecureUtils.PUBLIC_KEY);
+        privateKey = keyPairMap.get(SecureUtils.PRIVATE_KEY);
+        rsaPublicKey = SecureUtils.getPublicKeyFromString(publicKey);
+        rsaPrivateKey = SecureUtils.getPrivateKeyFromString(privateKey);
+        rsaEncrypted = SecureUtils.encryptRSA(TEXT, rsaPublicKey);
+        data = TEXT.getBytes(StandardCharsets.UTF_8);
+        signature = SecureUtils.signRSA(data, rsaPrivateKey);
+    }
+
+    @Benchmark
+    public String encryptAES() throws Exception {
+        return SecureUtils.encryptAES(TEXT, SECRET_KEY);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String encryptAESThreads() throws Exception {
+        return SecureUtils.encryptAES(TEXT, SECRET_KEY);
+    }
+
+    @Benchmark
+    public String decryptAES() throws Exception {
+        return SecureUtils.decryptAES(aesEncrypted, SECRET_KEY);
+    }
+
+    @Benchmark
+    public String encryptAesKey() throws Exception {
+        return aesKey.encrypt(TEXT);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String encryptRSA() throws Exception {
+        return SecureUtils.encryptRSA(TEXT, rsaPublicKey);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String encryptRSAStringKey() throws Exception {
+        return SecureUtils.encryptRSA(TEXT, publicKey);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String decryptRSA() throws Exception {
+        return SecureUtils.decryptRSA(rsaEncrypted, rsaPrivateKey);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String signRSA() throws Exception {
+        return SecureUtils.signRSA(data, rsaPrivateKey);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(4)
+    public String signRSAThreads() throws Exception {
+        return SecureUtils.signRSA(data, rsaPrivateKey);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean verifyRSA() throws Exception {
+        return SecureUtils.verifyRSA(data, rsaPublicKey, signature);
+    }
+
+    @Benchmark
+    public String maskPhoneNumber() {
+        return SecureUtils.maskPhoneNumber("18806608995");
+    }
+
+    @Benchmark
+    public String maskEmail() {
+        return SecureUtils.maskEmail("dantesyh123@gmail.com");
+    }
+
+    @Benchmark
+    public String maskAll() {
+        return SecureUtils.maskAll(LOG_LINE);
+    }
+}
@@ -0,0 +1,66 @@
+package dantesyh.utils.benchmark;
+
+import dantesyh.utils.TimeUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TimeUtils 基准测试
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeUtilsBenchmark {
+    private final Date date = new Date(1693467000000L);
+    private final LocalDateTime localDateTime = LocalDateTime.of(2023, 8, 31, 15, 30, 0);
+    private final LocalDate localDate = localDateTime.toLocalDate();
+    private final LocalTime localTime = localDateTime.toLocalTime();
+
+    @Benchmark
+    public String convertDateTimeFormatString() throws Exception {
+        return TimeUtils.convertDateTimeFormat("2023-08-31 15:30:00", "yyyy-MM-dd HH:mm:ss", TimeUtils.DATE_TIME_FORMAT);
+    }
+
+    @Benchmark
+    public String convertDateTimeFormatDate() {
+        return TimeUtils.convertDateTimeFormat(date);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String convertDateTimeFormatDateThreads() {
+        return TimeUtils.convertDateTimeFormat(date);
+    }
+
+    @Benchmark
+    public String convertDateTimeFormatLocalDateTime() {
+        return TimeUtils.convertDateTimeFormat(localDateTime);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String convertDateTimeFormatLocalDateTimeThreads() {
+        return TimeUtils.convertDateTimeFormat(localDateTime);
+    }
+
+    @Benchmark
+    public String convertDateFormat() {
+        return TimeUtils.convertDateFormat(localDate);
+    }
+
+    @Benchmark
+    public String convertTimeFormat() {
+        return TimeUtils.convertTimeFormat(localTime);
+    }
+}
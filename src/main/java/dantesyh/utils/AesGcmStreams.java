@@ -0,0 +1,429 @@
+package dantesyh.utils;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * AES/GCM分块流式加解密实现。
+ * <p>
+ * 密文格式：版本号(1字节) + 分块大小(4字节) + 随机数前缀(8字节)，之后为若干分块，
+ * 每个分块为长度头(4字节，最高位表示最后一块) + 密文及认证标签。
+ * 每个分块的IV由随机数前缀和分块序号组成，最后一块的标记参与认证，可防止分块被重排或截断。
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+final class AesGcmStreams {
+    private AesGcmStreams() {
+    }
+
+    /**
+     * 默认的明文分块大小
+     */
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * 允许的最大分块大小，防止读取被篡改的头部时分配过大内存
+     */
+    private static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private static final String AES_GCM_PADDING = "AES/GCM/NoPadding";
+    private static final int VERSION = 1;
+    private static final int PREFIX_LENGTH = 8;
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_LENGTH = 16;
+    private static final int FRAME_HEADER_LENGTH = 4;
+    private static final int FINAL_FLAG = 0x80000000;
+    private static final long MAX_CHUNKS = 0xFFFFFFFFL;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * 创建加密输出流，写入的明文按分块加密后写入目标流，关闭时写出最后一块并关闭目标流。
+     *
+     * @param out       密文输出流
+     * @param keySpec   AES密钥
+     * @param chunkSize 明文分块大小
+     * @return 加密输出流
+     * @throws IOException              如果写入头部失败
+     * @throws NoSuchPaddingException   如果填充方案不可用
+     * @throws NoSuchAlgorithmException 如果加密算法不可用
+     */
+    static OutputStream encryptingStream(OutputStream out, SecretKeySpec keySpec, int chunkSize) throws IOException, NoSuchPaddingException, NoSuchAlgorithmException {
+        return new EncryptingOutputStream(out, keySpec, chunkSize);
+    }
+
+    /**
+     * 读取输入流中的全部明文，分块加密后写入输出流，写出最后一块后刷新输出流，输入输出流均不关闭。
+     *
+     * @param in        明文输入流
+     * @param out       密文输出流
+     * @param keySpec   AES密钥
+     * @param chunkSize 明文分块大小
+     * @throws IOException              如果读写失败
+     * @throws NoSuchPaddingException   如果填充方案不可用
+     * @throws NoSuchAlgorithmException 如果加密算法不可用
+     */
+    static void encrypt(InputStream in, OutputStream out, SecretKeySpec keySpec, int chunkSize) throws IOException, NoSuchPaddingException, NoSuchAlgorithmException {
+        EncryptingOutputStream encrypted = new EncryptingOutputStream(out, keySpec, chunkSize);
+        in.transferTo(encrypted);
+        encrypted.finish();
+        out.flush();
+    }
+
+    /**
+     * 创建解密输入流，按分块读取并校验密文，读出解密后的明文。
+     *
+     * @param in      密文输入流
+     * @param keySpec AES密钥
+     * @return 解密输入流
+     * @throws NoSuchPaddingException   如果填充方案不可用
+     * @throws NoSuchAlgorithmException 如果加密算法不可用
+     */
+    static InputStream decryptingStream(InputStream in, SecretKeySpec keySpec) throws NoSuchPaddingException, NoSuchAlgorithmException {
+        return new DecryptingInputStream(in, keySpec);
+    }
+
+    /**
+     * 从源文件通道读取明文，分块加密后写入目标文件通道。
+     *
+     * @param src       明文文件通道，从当前位置读取到末尾
+     * @param dst       密文文件通道
+     * @param keySpec   AES密钥
+     * @param chunkSize 明文分块大小
+     * @throws IOException              如果读写失败
+     * @throws NoSuchPaddingException   如果填充方案不可用
+     * @throws NoSuchAlgorithmException 如果加密算法不可用
+     */
+    static void encrypt(FileChannel src, FileChannel dst, SecretKeySpec keySpec, int chunkSize) throws IOException, NoSuchPaddingException, NoSuchAlgorithmException {
+        checkChunkSize(chunkSize);
+        ChunkCipher cipher = new ChunkCipher(Cipher.ENCRYPT_MODE, keySpec);
+        RANDOM.nextBytes(cipher.nonce);
+        ByteBuffer header = ByteBuffer.allocate(1 + 4 + PREFIX_LENGTH);
+        header.put((byte) VERSION).putInt(chunkSize).put(cipher.nonce, 0, PREFIX_LENGTH).flip();
+        writeFully(dst, header);
+
+        byte[] plain = new byte[chunkSize];
+        byte[] frame = new byte[FRAME_HEADER_LENGTH + chunkSize + TAG_LENGTH];
+        ByteBuffer plainBuffer = ByteBuffer.wrap(plain);
+        ByteBuffer frameBuffer = ByteBuffer.wrap(frame);
+        boolean last;
+        do {
+            plainBuffer.clear();
+            while (plainBuffer.hasRemaining() && src.read(plainBuffer) >= 0) {
+                // 读满一个分块或读到文件末尾
+            }
+            last = src.position() >= src.size();
+            int length = cipher.process(plain, plainBuffer.position(), frame, FRAME_HEADER_LENGTH, last);
+            frameBuffer.clear();
+            frameBuffer.putInt(0, last ? length | FINAL_FLAG : length).limit(FRAME_HEADER_LENGTH + length);
+            writeFully(dst, frameBuffer);
+        } while (!last);
+    }
+
+    /**
+     * 从源文件通道读取密文，逐块校验解密后写入目标文件通道。
+     *
+     * @param src     密文文件通道
+     * @param dst     明文文件通道
+     * @param keySpec AES密钥
+     * @throws IOException              如果读写失败或密文校验失败
+     * @throws NoSuchPaddingException   如果填充方案不可用
+     * @throws NoSuchAlgorithmException 如果加密算法不可用
+     */
+    static void decrypt(FileChannel src, FileChannel dst, SecretKeySpec keySpec) throws IOException, NoSuchPaddingException, NoSuchAlgorithmException {
+        ChunkCipher cipher = new ChunkCipher(Cipher.DECRYPT_MODE, keySpec);
+        ByteBuffer header = ByteBuffer.allocate(1 + 4 + PREFIX_LENGTH);
+        readFully(src, header);
+        int chunkSize = readHeader(header.flip(), cipher);
+
+        byte[] frame = new byte[chunkSize + TAG_LENGTH];
+        byte[] plain = new byte[chunkSize];
+        ByteBuffer frameHeader = ByteBuffer.allocate(FRAME_HEADER_LENGTH);
+        ByteBuffer frameBuffer = ByteBuffer.wrap(frame);
+        ByteBuffer plainBuffer = ByteBuffer.wrap(plain);
+        boolean last;
+        do {
+            frameHeader.clear();
+            readFully(src, frameHeader);
+            int value = frameHeader.getInt(0);
+            last = (value & FINAL_FLAG) != 0;
+            int length = checkFrameLength(value & ~FINAL_FLAG, chunkSize);
+            frameBuffer.clear().limit(length);
+            readFully(src, frameBuffer);
+            int plainLength = cipher.process(frame, length, plain, 0, last);
+            plainBuffer.clear().limit(plainLength);
+            writeFully(dst, plainBuffer);
+        } while (!last);
+        if (src.position() < src.size()) {
+            throw new IOException("Unexpected data after final chunk");
+        }
+    }
+
+    private static int readHeader(ByteBuffer header, ChunkCipher cipher) throws IOException {
+        int version = header.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported encrypted stream version: " + version);
+        }
+        int chunkSize = header.getInt();
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IOException("Invalid chunk size: " + chunkSize);
+        }
+        header.get(cipher.nonce, 0, PREFIX_LENGTH);
+        return chunkSize;
+    }
+
+    private static int checkFrameLength(int length, int chunkSize) throws IOException {
+        if (length < TAG_LENGTH || length > chunkSize + TAG_LENGTH) {
+            throw new IOException("Invalid chunk length: " + length);
+        }
+        return length;
+    }
+
+    private static void checkChunkSize(int chunkSize) {
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Encrypted data is truncated");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * 单个分块的加解密，IV由随机数前缀和递增的分块序号组成
+     */
+    private static final class ChunkCipher {
+        private final Cipher cipher;
+        private final int mode;
+        private final SecretKeySpec keySpec;
+        private final byte[] nonce = new byte[NONCE_LENGTH];
+        private final byte[] aad = new byte[1];
+        private long counter;
+
+        private ChunkCipher(int mode, SecretKeySpec keySpec) throws NoSuchPaddingException, NoSuchAlgorithmException {
+            this.cipher = Cipher.getInstance(AES_GCM_PADDING);
+            this.mode = mode;
+            this.keySpec = keySpec;
+        }
+
+        private int process(byte[] in, int length, byte[] out, int outOffset, boolean last) throws IOException {
+            if (counter > MAX_CHUNKS) {
+                throw new IOException("Too many chunks");
+            }
+            int index = (int) counter++;
+            nonce[PREFIX_LENGTH] = (byte) (index >>> 24);
+            nonce[PREFIX_LENGTH + 1] = (byte) (index >>> 16);
+            nonce[PREFIX_LENGTH + 2] = (byte) (index >>> 8);
+            nonce[PREFIX_LENGTH + 3] = (byte) index;
+            aad[0] = (byte) (last ? 1 : 0);
+            try {
+                cipher.init(mode, keySpec, new GCMParameterSpec(TAG_LENGTH * 8, nonce));
+                cipher.updateAAD(aad);
+                return cipher.doFinal(in, 0, length, out, outOffset);
+            } catch (AEADBadTagException e) {
+                throw new IOException("Encrypted data authentication failed", e);
+            } catch (GeneralSecurityException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private static final class EncryptingOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final ChunkCipher cipher;
+        private final byte[] buffer;
+        private final byte[] frame;
+        private int count;
+        private boolean finished;
+        private boolean closed;
+
+        private EncryptingOutputStream(OutputStream out, SecretKeySpec keySpec, int chunkSize) throws IOException, NoSuchPaddingException, NoSuchAlgorithmException {
+            checkChunkSize(chunkSize);
+            this.out = out;
+            this.cipher = new ChunkCipher(Cipher.ENCRYPT_MODE, keySpec);
+            this.buffer = new byte[chunkSize];
+            this.frame = new byte[FRAME_HEADER_LENGTH + chunkSize + TAG_LENGTH];
+            RANDOM.nextBytes(cipher.nonce);
+            ByteBuffer header = ByteBuffer.allocate(1 + 4 + PREFIX_LENGTH);
+            header.put((byte) VERSION).putInt(chunkSize).put(cipher.nonce, 0, PREFIX_LENGTH);
+            out.write(header.array());
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            if (count == buffer.length) {
+                writeChunk(false);
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            while (len > 0) {
+                // 只有确认后面还有数据时才写出已满的分块，保证最后一块带有结束标记
+                if (count == buffer.length) {
+                    writeChunk(false);
+                }
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        /**
+         * 写出最后一块，之后不能再写入，目标流保持打开。
+         *
+         * @throws IOException 如果写入失败
+         */
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            writeChunk(true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try (out) {
+                finish();
+            }
+        }
+
+        private void writeChunk(boolean last) throws IOException {
+            int length = cipher.process(buffer, count, frame, FRAME_HEADER_LENGTH, last);
+            int header = last ? length | FINAL_FLAG : length;
+            frame[0] = (byte) (header >>> 24);
+            frame[1] = (byte) (header >>> 16);
+            frame[2] = (byte) (header >>> 8);
+            frame[3] = (byte) header;
+            out.write(frame, 0, FRAME_HEADER_LENGTH + length);
+            count = 0;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (finished) {
+                throw new IOException("Stream closed");
+            }
+        }
+    }
+
+    private static final class DecryptingInputStream extends InputStream {
+        private final InputStream in;
+        private final ChunkCipher cipher;
+        private byte[] frame;
+        private byte[] buffer;
+        private int chunkSize;
+        private int position;
+        private int limit;
+        private boolean finished;
+
+        private DecryptingInputStream(InputStream in, SecretKeySpec keySpec) throws NoSuchPaddingException, NoSuchAlgorithmException {
+            this.in = in;
+            this.cipher = new ChunkCipher(Cipher.DECRYPT_MODE, keySpec);
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (position == limit) {
+                if (!fill()) {
+                    return -1;
+                }
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (position == limit) {
+                if (!fill()) {
+                    return -1;
+                }
+            }
+            int n = Math.min(len, limit - position);
+            System.arraycopy(buffer, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return limit - position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private boolean fill() throws IOException {
+            if (finished) {
+                return false;
+            }
+            if (buffer == null) {
+                byte[] header = new byte[1 + 4 + PREFIX_LENGTH];
+                readFully(header, header.length);
+                chunkSize = readHeader(ByteBuffer.wrap(header), cipher);
+                buffer = new byte[chunkSize];
+                frame = new byte[chunkSize + TAG_LENGTH];
+            }
+            readFully(frame, FRAME_HEADER_LENGTH);
+            int value = ((frame[0] & 0xFF) << 24) | ((frame[1] & 0xFF) << 16) | ((frame[2] & 0xFF) << 8) | (frame[3] & 0xFF);
+            boolean last = (value & FINAL_FLAG) != 0;
+            int length = checkFrameLength(value & ~FINAL_FLAG, chunkSize);
+            readFully(frame, length);
+            limit = cipher.process(frame, length, buffer, 0, last);
+            position = 0;
+            finished = last;
+            if (last && in.read() >= 0) {
+                throw new IOException("Unexpected data after final chunk");
+            }
+            return true;
+        }
+
+        private void readFully(byte[] b, int len) throws IOException {
+            int n = in.readNBytes(b, 0, len);
+            if (n < len) {
+                throw new EOFException("Encrypted data is truncated");
+            }
+        }
+    }
+}
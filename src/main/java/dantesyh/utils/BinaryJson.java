@@ -0,0 +1,480 @@
+package dantesyh.utils;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 与JSON数据模型一致的紧凑二进制编码，所有TypeAdapter无需修改即可使用。
+ * 写出时通过{@link JsonWriter}的子类直接编码；读取时先解码为{@link JsonElement}树，再由Gson的树形读取器绑定到目标类型。
+ * <p>
+ * 格式：版本号(1字节) + 一个值。每个值以1字节标签开头：
+ * <ul>
+ *     <li>null、false、true：只有标签</li>
+ *     <li>整数：ZigZag编码的变长整数</li>
+ *     <li>浮点数：8字节IEEE 754</li>
+ *     <li>字符串：变长整数长度 + UTF-8字节</li>
+ *     <li>其他数字（BigDecimal等）：变长整数长度 + 十进制文本</li>
+ *     <li>数组：元素依次排列，以结束标签结尾</li>
+ *     <li>对象：每个成员为名称 + 值，以0结尾。名称是变长整数{@code h}：{@code (h-1)}最低位为0时后面跟长度为{@code (h-1)>>>1}的UTF-8字节，
+ *     并加入名称表；为1时引用名称表中第{@code (h-1)>>>1}个名称。重复出现的字段名只写一次</li>
+ * </ul>
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+final class BinaryJson {
+    static final byte VERSION = 1;
+
+    static final byte NULL = 0;
+    static final byte FALSE = 1;
+    static final byte TRUE = 2;
+    static final byte INT = 3;
+    static final byte DOUBLE = 4;
+    static final byte STRING = 5;
+    static final byte NUMBER = 6;
+    static final byte BEGIN_ARRAY = 7;
+    static final byte BEGIN_OBJECT = 8;
+    static final byte END_ARRAY = 9;
+
+    private static final int ARRAY = 1;
+    private static final int OBJECT_NAME = 2;
+
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    private BinaryJson() {
+    }
+
+    /**
+     * 写出二进制编码的JsonWriter，写入自动扩容的字节数组。
+     */
+    static final class BinaryWriter extends JsonWriter {
+        private byte[] buffer = new byte[256];
+        private int count;
+        private final Map<String, Integer> names = new HashMap<>();
+        private int[] stack = new int[32];
+        private int depth;
+        private String deferredName;
+
+        BinaryWriter() {
+            super(Writer.nullWriter());
+            buffer[count++] = VERSION;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, count);
+        }
+
+        @Override
+        public JsonWriter beginArray() throws IOException {
+            beforeValue();
+            writeByte(BEGIN_ARRAY);
+            push(ARRAY);
+            return this;
+        }
+
+        @Override
+        public JsonWriter endArray() throws IOException {
+            pop(ARRAY);
+            writeByte(END_ARRAY);
+            return this;
+        }
+
+        @Override
+        public JsonWriter beginObject() throws IOException {
+            beforeValue();
+            writeByte(BEGIN_OBJECT);
+            push(OBJECT_NAME);
+            return this;
+        }
+
+        @Override
+        public JsonWriter endObject() throws IOException {
+            if (deferredName != null) {
+                throw new IllegalStateException("Dangling name: " + deferredName);
+            }
+            pop(OBJECT_NAME);
+            writeByte(0);
+            return this;
+        }
+
+        @Override
+        public JsonWriter name(String name) throws IOException {
+            if (name == null) {
+                throw new NullPointerException("name == null");
+            }
+            if (depth == 0 || stack[depth - 1] != OBJECT_NAME || deferredName != null) {
+                throw new IllegalStateException("Please begin an object before writing a name.");
+            }
+            deferredName = name;
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(String value) throws IOException {
+            if (value == null) {
+                return nullValue();
+            }
+            beforeValue();
+            writeByte(STRING);
+            writeString(value);
+            return this;
+        }
+
+        /**
+         * 原始JSON文本先解析，再按数据模型编码，不保留原文的格式。
+         *
+         * @throws JsonSyntaxException value不是合法的JSON
+         */
+        @Override
+        public JsonWriter jsonValue(String value) throws IOException {
+            if (value == null) {
+                return nullValue();
+            }
+            writeElement(JsonParser.parseString(value));
+            return this;
+        }
+
+        @Override
+        public JsonWriter nullValue() throws IOException {
+            if (deferredName != null && !getSerializeNulls()) {
+                // 与JsonWriter一致，不序列化null时同时丢弃字段名
+                deferredName = null;
+                return this;
+            }
+            beforeValue();
+            writeByte(NULL);
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(boolean value) throws IOException {
+            beforeValue();
+            writeByte(value ? TRUE : FALSE);
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(Boolean value) throws IOException {
+            return value == null ? nullValue() : value(value.booleanValue());
+        }
+
+        @Override
+        public JsonWriter value(float value) throws IOException {
+            return value((double) value);
+        }
+
+        @Override
+        public JsonWriter value(double value) throws IOException {
+            if (!isLenient() && (Double.isNaN(value) || Double.isInfinite(value))) {
+                throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+            }
+            beforeValue();
+            writeByte(DOUBLE);
+            ensureCapacity(8);
+            long bits = Double.doubleToRawLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[count++] = (byte) (bits >>> shift);
+            }
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(long value) throws IOException {
+            beforeValue();
+            writeByte(INT);
+            writeVarLong((value << 1) ^ (value >> 63));
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(Number value) throws IOException {
+            if (value == null) {
+                return nullValue();
+            }
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                    || value instanceof AtomicInteger || value instanceof AtomicLong) {
+                return value(value.longValue());
+            }
+            if (value instanceof Double || value instanceof Float) {
+                return value(value.doubleValue());
+            }
+            if (value instanceof BigInteger bigInteger && bigInteger.compareTo(LONG_MIN) >= 0 && bigInteger.compareTo(LONG_MAX) <= 0) {
+                return value(bigInteger.longValue());
+            }
+            beforeValue();
+            writeByte(NUMBER);
+            writeString(value.toString());
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private void writeElement(JsonElement element) throws IOException {
+            if (element.isJsonNull()) {
+                nullValue();
+            } else if (element instanceof JsonPrimitive primitive) {
+                if (primitive.isBoolean()) {
+                    value(primitive.getAsBoolean());
+                } else if (primitive.isNumber()) {
+                    value(primitive.getAsNumber());
+                } else {
+                    value(primitive.getAsString());
+                }
+            } else if (element instanceof JsonArray array) {
+                beginArray();
+                for (JsonElement e : array) {
+                    writeElement(e);
+                }
+                endArray();
+            } else {
+                beginObject();
+                for (Map.Entry<String, JsonElement> e : element.getAsJsonObject().entrySet()) {
+                    name(e.getKey());
+                    writeElement(e.getValue());
+                }
+                endObject();
+            }
+        }
+
+        private void beforeValue() {
+            if (deferredName != null) {
+                writeName(deferredName);
+                deferredName = null;
+            } else if (depth > 0 && stack[depth - 1] == OBJECT_NAME) {
+                throw new IllegalStateException("Nesting problem: expected a name");
+            }
+        }
+
+        private void writeName(String name) {
+            Integer index = names.get(name);
+            if (index != null) {
+                writeVarLong(((long) index << 1 | 1) + 1);
+            } else {
+                names.put(name, names.size());
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(((long) bytes.length << 1) + 1);
+                writeBytes(bytes);
+            }
+        }
+
+        private void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        private void push(int scope) {
+            if (depth == stack.length) {
+                stack = Arrays.copyOf(stack, depth * 2);
+            }
+            stack[depth++] = scope;
+        }
+
+        private void pop(int scope) {
+            if (depth == 0 || stack[depth - 1] != scope) {
+                throw new IllegalStateException("Nesting problem.");
+            }
+            depth--;
+        }
+
+        private void writeByte(int b) {
+            ensureCapacity(1);
+            buffer[count++] = (byte) b;
+        }
+
+        private void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, count, bytes.length);
+            count += bytes.length;
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[count++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[count++] = (byte) value;
+        }
+
+        private void ensureCapacity(int n) {
+            if (count + n > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + n));
+            }
+        }
+    }
+
+    /**
+     * 解码{@link BinaryWriter}生成的一个完整文档，解码后的树由Gson的树形读取器绑定到目标类型。
+     *
+     * @param bytes 二进制编码，不能为空
+     * @return 解码后的JSON树
+     * @throws JsonSyntaxException 版本不支持、数据不完整或有多余字节
+     */
+    static JsonElement decode(byte[] bytes) {
+        if (bytes[0] != VERSION) {
+            throw new JsonSyntaxException("Unsupported binary JSON version: " + bytes[0]);
+        }
+        Decoder decoder = new Decoder(bytes);
+        JsonElement element = decoder.readValue();
+        if (decoder.pos != bytes.length) {
+            throw decoder.syntaxError("Binary document was not fully consumed");
+        }
+        return element;
+    }
+
+    /**
+     * 按标签递归解码，对象中新出现的字段名依次加入名称表。
+     */
+    private static final class Decoder {
+        private final byte[] buffer;
+        private final int limit;
+        private final List<String> names = new ArrayList<>();
+        private int pos = 1;
+
+        Decoder(byte[] buffer) {
+            this.buffer = buffer;
+            this.limit = buffer.length;
+        }
+
+        JsonElement readValue() {
+            return switch (readByte()) {
+                case NULL -> JsonNull.INSTANCE;
+                case FALSE -> new JsonPrimitive(false);
+                case TRUE -> new JsonPrimitive(true);
+                case INT -> {
+                    long zigzag = readVarLong();
+                    yield new JsonPrimitive((zigzag >>> 1) ^ -(zigzag & 1));
+                }
+                case DOUBLE -> new JsonPrimitive(readDouble());
+                case STRING -> new JsonPrimitive(readString());
+                case NUMBER -> {
+                    String text = readString();
+                    try {
+                        yield new JsonPrimitive(new BigDecimal(text));
+                    } catch (NumberFormatException e) {
+                        throw syntaxError("Invalid number '" + text + "'");
+                    }
+                }
+                case BEGIN_ARRAY -> {
+                    JsonArray array = new JsonArray();
+                    while (peekByte() != END_ARRAY) {
+                        array.add(readValue());
+                    }
+                    pos++;
+                    yield array;
+                }
+                case BEGIN_OBJECT -> {
+                    JsonObject object = new JsonObject();
+                    while (peekByte() != 0) {
+                        String name = readName();
+                        object.add(name, readValue());
+                    }
+                    pos++;
+                    yield object;
+                }
+                default -> throw syntaxError("Unknown tag " + buffer[pos - 1]);
+            };
+        }
+
+        private String readName() {
+            long header = readVarLong() - 1;
+            if ((header & 1) == 1) {
+                long index = header >>> 1;
+                if (index >= names.size()) {
+                    throw syntaxError("Invalid name reference " + index);
+                }
+                return names.get((int) index);
+            }
+            int length = checkLength(header >>> 1);
+            String name = new String(buffer, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            names.add(name);
+            return name;
+        }
+
+        private String readString() {
+            int length = checkLength(readVarLong());
+            String value = new String(buffer, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        private double readDouble() {
+            checkLength(8);
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | (buffer[pos++] & 0xFF);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        private int checkLength(long length) {
+            if (length < 0 || length > limit - pos) {
+                throw endOfInput();
+            }
+            return (int) length;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw syntaxError("Malformed variable-length integer");
+        }
+
+        private byte readByte() {
+            if (pos >= limit) {
+                throw endOfInput();
+            }
+            return buffer[pos++];
+        }
+
+        private byte peekByte() {
+            if (pos >= limit) {
+                throw endOfInput();
+            }
+            return buffer[pos];
+        }
+
+        private JsonSyntaxException endOfInput() {
+            return new JsonSyntaxException(new EOFException("End of input at offset " + pos));
+        }
+
+        private JsonSyntaxException syntaxError(String message) {
+            return new JsonSyntaxException(message + " at offset " + pos);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package dantesyh.utils;
+
+/**
+ * 缓存统计数据快照
+ *
+ * @param hitCount      命中次数
+ * @param missCount     未命中次数
+ * @param evictionCount 淘汰次数
+ * @param size          当前缓存条目数
+ * @author dante
+ * @since 2026/10/18
+ */
+public record CacheStats(long hitCount, long missCount, long evictionCount, int size) {
+
+    /**
+     * 计算命中率。
+     *
+     * @return 命中次数占总访问次数的比例，没有访问时返回1.0
+     */
+    public double hitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+}
@@ -0,0 +1,163 @@
+package dantesyh.utils;
+
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 粗粒度缓存时钟，由一个后台守护线程按固定精度刷新当前时间，读取时只需一次volatile读，不调用系统时钟也不格式化。
+ * <p>
+ * 除毫秒时间戳外，还提供{@link TimeUtils#DATE_FORMAT}、{@link TimeUtils#DATE_TIME_FORMAT}和{@link TimeUtils#TIME_FORMAT}
+ * 格式的当前时间字符串，字符串每秒只格式化一次。读取到的时间最多落后一个刷新周期，适合秒级精度的事件时间戳。
+ * <p>
+ * 通过{@link TimeUtils#cachedClock()}获取共享实例，或通过{@link TimeUtils#cachedClock(long, ZoneId)}创建独立实例，
+ * 独立实例不再使用时应调用{@link #close()}停止后台线程；共享实例的{@link #close()}不起作用，可以放心用于try-with-resources。
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+public final class CachedClock implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(CachedClock.class.getName());
+
+    private final ScheduledExecutorService ticker;
+    private final boolean shared;
+    private final TimestampFormatter dateFormatter;
+    private final TimestampFormatter dateTimeFormatter;
+    private final TimestampFormatter timeFormatter;
+
+    /**
+     * 当前秒格式化后的字符串，先于毫秒时间戳更新
+     */
+    private volatile Texts texts;
+
+    /**
+     * 最近一次刷新的毫秒时间戳
+     */
+    private volatile long millis;
+
+    /**
+     * 上一次刷新是否失败，只在后台线程中读写，连续失败时只记录第一次
+     */
+    private boolean failing;
+
+    CachedClock(long resolutionMillis, ZoneId zone) {
+        this(resolutionMillis, zone, false);
+    }
+
+    /**
+     * 创建缓存时钟，JVM内共享的实例不能被关闭。
+     */
+    CachedClock(long resolutionMillis, ZoneId zone, boolean shared) {
+        if (resolutionMillis <= 0) {
+            throw new IllegalArgumentException("Invalid clock resolution: " + resolutionMillis);
+        }
+        this.shared = shared;
+        this.dateFormatter = new TimestampFormatter(TimeUtils.DATE_FORMAT, zone);
+        this.dateTimeFormatter = new TimestampFormatter(TimeUtils.DATE_TIME_FORMAT, zone);
+        this.timeFormatter = new TimestampFormatter(TimeUtils.TIME_FORMAT, zone);
+        refresh();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cached-clock-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, resolutionMillis, resolutionMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 定时刷新，任务抛出异常时scheduleAtFixedRate会停止后续执行，因此异常在这里记录后吞掉，保留上一次的时间，下一个周期重试。
+     */
+    private void tick() {
+        try {
+            refresh();
+            if (failing) {
+                failing = false;
+                LOGGER.info("Cached clock refresh recovered");
+            }
+        } catch (RuntimeException e) {
+            if (!failing) {
+                failing = true;
+                LOGGER.log(Level.WARNING, "Cached clock refresh failed, retrying on the next tick", e);
+            }
+        }
+    }
+
+    /**
+     * 刷新当前时间，跨秒时重新格式化字符串。
+     */
+    private void refresh() {
+        long now = System.currentTimeMillis();
+        Texts t = texts;
+        long epochSecond = Math.floorDiv(now, 1000);
+        if (t == null || t.epochSecond != epochSecond) {
+            texts = new Texts(epochSecond, dateFormatter.format(now), dateTimeFormatter.format(now), timeFormatter.format(now));
+        }
+        millis = now;
+    }
+
+    /**
+     * 获取缓存的当前毫秒时间戳。
+     *
+     * @return 最近一次刷新时的毫秒时间戳
+     */
+    public long currentTimeMillis() {
+        return millis;
+    }
+
+    /**
+     * 获取缓存的当前日期字符串，格式为{@link TimeUtils#DATE_FORMAT}。
+     *
+     * @return 当前日期字符串
+     */
+    public String date() {
+        return texts.date;
+    }
+
+    /**
+     * 获取缓存的当前日期时间字符串，格式为{@link TimeUtils#DATE_TIME_FORMAT}。
+     *
+     * @return 当前日期时间字符串
+     */
+    public String dateTime() {
+        return texts.dateTime;
+    }
+
+    /**
+     * 获取缓存的当前时间字符串，格式为{@link TimeUtils#TIME_FORMAT}。
+     *
+     * @return 当前时间字符串
+     */
+    public String time() {
+        return texts.time;
+    }
+
+    /**
+     * 停止后台刷新线程，之后读取到的时间不再变化。共享实例调用时不起作用。
+     */
+    @Override
+    public void close() {
+        if (!shared) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * 某一秒格式化后的字符串
+     */
+    private static final class Texts {
+        final long epochSecond;
+        final String date;
+        final String dateTime;
+        final String time;
+
+        Texts(long epochSecond, String date, String dateTime, String time) {
+            this.epochSecond = epochSecond;
+            this.date = date;
+            this.dateTime = dateTime;
+            this.time = time;
+        }
+    }
+}
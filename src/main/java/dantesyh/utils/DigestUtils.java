@@ -0,0 +1,377 @@
+package dantesyh.utils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * 摘要与HMAC工具类
+ * <p>
+ * 每个线程按算法复用{@link MessageDigest}和{@link Mac}实例，文件通过内存映射分段读取。
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+public class DigestUtils {
+    private DigestUtils() {
+    }
+
+    /**
+     * MD5摘要算法名称
+     */
+    public static final String MD5 = "MD5";
+
+    /**
+     * SHA-1摘要算法名称
+     */
+    public static final String SHA_1 = "SHA-1";
+
+    /**
+     * SHA-256摘要算法名称
+     */
+    public static final String SHA_256 = "SHA-256";
+
+    /**
+     * SHA-512摘要算法名称
+     */
+    public static final String SHA_512 = "SHA-512";
+
+    /**
+     * HmacSHA256算法名称
+     */
+    public static final String HMAC_SHA_256 = "HmacSHA256";
+
+    /**
+     * 树形摘要默认的分块大小
+     */
+    public static final int DEFAULT_TREE_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * 内存映射文件时每段的最大长度
+     */
+    private static final int MAP_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * 读取输入流使用的缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 树形摘要中叶子节点的前缀，与根节点区分
+     */
+    private static final byte TREE_LEAF_PREFIX = 0;
+
+    /**
+     * 树形摘要中根节点的前缀
+     */
+    private static final byte TREE_ROOT_PREFIX = 1;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<Map<String, MessageDigest>> DIGESTS = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<String, Mac>> MACS = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocate(BUFFER_SIZE));
+
+    /**
+     * 计算字节数组的摘要。
+     *
+     * @param algorithm 摘要算法名称
+     * @param data      数据
+     * @return 摘要
+     * @throws NoSuchAlgorithmException 如果摘要算法不可用
+     */
+    public static byte[] digest(String algorithm, byte[] data) throws NoSuchAlgorithmException {
+        return messageDigest(algorithm).digest(data);
+    }
+
+    /**
+     * 计算缓冲区剩余数据的摘要，支持直接缓冲区，计算后缓冲区的position移动到limit。
+     *
+     * @param algorithm 摘要算法名称
+     * @param data      数据缓冲区
+     * @return 摘要
+     * @throws NoSuchAlgorithmException 如果摘要算法不可用
+     */
+    public static byte[] digest(String algorithm, ByteBuffer data) throws NoSuchAlgorithmException {
+        MessageDigest messageDigest = messageDigest(algorithm);
+        messageDigest.update(data);
+        return messageDigest.digest();
+    }
+
+    /**
+     * 计算输入流中全部数据的摘要，输入流由调用方关闭。
+     *
+     * @param algorithm 摘要算法名称
+     * @param in        输入流
+     * @return 摘要
+     * @throws NoSuchAlgorithmException 如果摘要算法不可用
+     * @throws IOException              如果读取失败
+     */
+    public static byte[] digest(String algorithm, InputStream in) throws NoSuchAlgorithmException, IOException {
+        MessageDigest messageDigest = messageDigest(algorithm);
+        try {
+            update(in, messageDigest::update);
+        } catch (IOException e) {
+            messageDigest.reset();
+            throw e;
+        }
+        return messageDigest.digest();
+    }
+
+    /**
+     * 以内存映射方式分段读取文件并计算摘要。
+     *
+     * @param algorithm 摘要算法名称
+     * @param path      文件路径
+     * @return 摘要
+     * @throws NoSuchAlgorithmException 如果摘要算法不可用
+     * @throws IOException              如果读取失败
+     */
+    public static byte[] digest(String algorithm, Path path) throws NoSuchAlgorithmException, IOException {
+        MessageDigest messageDigest = messageDigest(algorithm);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            update(channel, 0, channel.size(), messageDigest::update);
+        } catch (IOException e) {
+            messageDigest.reset();
+            throw e;
+        }
+        return messageDigest.digest();
+    }
+
+    /**
+     * 计算字节数组的SHA-256摘要。
+     *
+     * @param data 数据
+     * @return 十六进制小写字符串形式的摘要
+     * @throws NoSuchAlgorithmException 如果摘要算法不可用
+     */
+    public static String sha256Hex(byte[] data) throws NoSuchAlgorithmException {
+        return toHex(digest(SHA_256, data));
+    }
+
+    /**
+     * 计算文件的SHA-256摘要。
+     *
+     * @param path 文件路径
+     * @return 十六进制小写字符串形式的摘要
+     * @throws NoSuchAlgorithmException 如果摘要算法不可用
+     * @throws IOException              如果读取失败
+     */
+    public static String sha256Hex(Path path) throws NoSuchAlgorithmException, IOException {
+        return toHex(digest(SHA_256, path));
+    }
+
+    /**
+     * 使用默认分块大小计算文件的树形摘要。
+     *
+     * @param algorithm 摘要算法名称
+     * @param path      文件路径
+     * @return 树形摘要
+     * @throws NoSuchAlgorithmException 如果摘要算法不可用
+     * @throws IOException              如果读取失败
+     * @see #treeDigest(String, Path, int)
+     */
+    public static byte[] treeDigest(String algorithm, Path path) throws NoSuchAlgorithmException, IOException {
+        return treeDigest(algorithm, path, DEFAULT_TREE_CHUNK_SIZE);
+    }
+
+    /**
+     * 计算文件的树形摘要：文件按固定大小分块，各分块在多个CPU核心上并行计算摘要，
+     * 再对所有分块摘要按顺序计算根摘要。
+     * <p>
+     * 叶子摘要为 H(0x00 || 分块数据)，根摘要为 H(0x01 || 叶子摘要1 || 叶子摘要2 ...)。
+     * 结果与普通摘要不同，只能与相同算法和分块大小的树形摘要比较。
+     *
+     * @param algorithm 摘要算法名称
+     * @param path      文件路径
+     * @param chunkSize 分块大小
+     * @return 树形摘要
+     * @throws NoSuchAlgorithmException 如果摘要算法不可用
+     * @throws IOException              如果读取失败
+     */
+    public static byte[] treeDigest(String algorithm, Path path, int chunkSize) throws NoSuchAlgorithmException, IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return treeDigest(algorithm, channel, chunkSize);
+        }
+    }
+
+    /**
+     * 计算文件通道全部内容的树形摘要，规则同{@link #treeDigest(String, Path, int)}。
+     */
+    static byte[] treeDigest(String algorithm, FileChannel channel, int chunkSize) throws NoSuchAlgorithmException, IOException {
+        // 提前验证算法，避免在工作线程中才失败
+        messageDigest(algorithm);
+        long size = channel.size();
+        int chunks = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+        byte[][] leaves = new byte[chunks][];
+        try {
+            IntStream.range(0, chunks).parallel().forEach(i -> {
+                try {
+                    MessageDigest leaf = messageDigest(algorithm);
+                    leaf.update(TREE_LEAF_PREFIX);
+                    long position = (long) i * chunkSize;
+                    update(channel, position, Math.min(chunkSize, size - position), leaf::update);
+                    leaves[i] = leaf.digest();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        // 调用线程也会执行叶子任务，根摘要在叶子全部完成后再获取
+        MessageDigest root = messageDigest(algorithm);
+        root.update(TREE_ROOT_PREFIX);
+        for (byte[] leaf : leaves) {
+            root.update(leaf);
+        }
+        return root.digest();
+    }
+
+    /**
+     * 计算字节数组的HMAC。
+     *
+     * @param algorithm HMAC算法名称
+     * @param key       密钥
+     * @param data      数据
+     * @return HMAC
+     * @throws NoSuchAlgorithmException 如果HMAC算法不可用
+     * @throws InvalidKeyException      如果密钥无效
+     */
+    public static byte[] hmac(String algorithm, byte[] key, byte[] data) throws NoSuchAlgorithmException, InvalidKeyException {
+        return mac(algorithm, key).doFinal(data);
+    }
+
+    /**
+     * 计算缓冲区剩余数据的HMAC，支持直接缓冲区，计算后缓冲区的position移动到limit。
+     *
+     * @param algorithm HMAC算法名称
+     * @param key       密钥
+     * @param data      数据缓冲区
+     * @return HMAC
+     * @throws NoSuchAlgorithmException 如果HMAC算法不可用
+     * @throws InvalidKeyException      如果密钥无效
+     */
+    public static byte[] hmac(String algorithm, byte[] key, ByteBuffer data) throws NoSuchAlgorithmException, InvalidKeyException {
+        Mac mac = mac(algorithm, key);
+        mac.update(data);
+        return mac.doFinal();
+    }
+
+    /**
+     * 计算输入流中全部数据的HMAC，输入流由调用方关闭。
+     *
+     * @param algorithm HMAC算法名称
+     * @param key       密钥
+     * @param in        输入流
+     * @return HMAC
+     * @throws NoSuchAlgorithmException 如果HMAC算法不可用
+     * @throws InvalidKeyException      如果密钥无效
+     * @throws IOException              如果读取失败
+     */
+    public static byte[] hmac(String algorithm, byte[] key, InputStream in) throws NoSuchAlgorithmException, InvalidKeyException, IOException {
+        Mac mac = mac(algorithm, key);
+        update(in, mac::update);
+        return mac.doFinal();
+    }
+
+    /**
+     * 以内存映射方式分段读取文件并计算HMAC。
+     *
+     * @param algorithm HMAC算法名称
+     * @param key       密钥
+     * @param path      文件路径
+     * @return HMAC
+     * @throws NoSuchAlgorithmException 如果HMAC算法不可用
+     * @throws InvalidKeyException      如果密钥无效
+     * @throws IOException              如果读取失败
+     */
+    public static byte[] hmac(String algorithm, byte[] key, Path path) throws NoSuchAlgorithmException, InvalidKeyException, IOException {
+        Mac mac = mac(algorithm, key);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            update(channel, 0, channel.size(), mac::update);
+        }
+        return mac.doFinal();
+    }
+
+    /**
+     * 将字节数组转换为十六进制小写字符串。
+     *
+     * @param bytes 字节数组
+     * @return 十六进制字符串
+     */
+    public static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 获取当前线程复用的摘要实例，每次获取时重置，之前的调用中途失败也不会影响结果。
+     */
+    private static MessageDigest messageDigest(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, MessageDigest> digests = DIGESTS.get();
+        MessageDigest messageDigest = digests.get(algorithm);
+        if (messageDigest == null) {
+            messageDigest = MessageDigest.getInstance(algorithm);
+            digests.put(algorithm, messageDigest);
+        } else {
+            messageDigest.reset();
+        }
+        return messageDigest;
+    }
+
+    /**
+     * 获取当前线程复用的HMAC实例，并使用指定密钥初始化。
+     */
+    private static Mac mac(String algorithm, byte[] key) throws NoSuchAlgorithmException, InvalidKeyException {
+        Map<String, Mac> macs = MACS.get();
+        Mac mac = macs.get(algorithm);
+        if (mac == null) {
+            mac = Mac.getInstance(algorithm);
+            macs.put(algorithm, mac);
+        }
+        mac.init(new SecretKeySpec(key, algorithm));
+        return mac;
+    }
+
+    private static void update(InputStream in, Consumer<ByteBuffer> target) throws IOException {
+        ByteBuffer buffer = BUFFERS.get();
+        byte[] array = buffer.array();
+        int n;
+        while ((n = in.read(array)) != -1) {
+            buffer.clear().limit(n);
+            target.accept(buffer);
+        }
+    }
+
+    private static void update(FileChannel channel, long position, long length, Consumer<ByteBuffer> target) throws IOException {
+        long end = position + length;
+        while (position < end) {
+            long segment = Math.min(MAP_SEGMENT_SIZE, end - position);
+            target.accept(channel.map(FileChannel.MapMode.READ_ONLY, position, segment));
+            position += segment;
+        }
+    }
+}
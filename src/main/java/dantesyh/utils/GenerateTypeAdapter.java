@@ -0,0 +1,26 @@
+package dantesyh.utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记需要在编译期生成Gson {@code TypeAdapter}的record或普通类。
+ * <p>
+ * {@link TypeAdapterProcessor}为每个标记的类在同一个包中生成{@code 类名TypeAdapterFactory}（嵌套类以{@code _}连接外部类名），
+ * 并登记到{@code META-INF/services/dantesyh.utils.GeneratedTypeAdapterFactory}，{@link JsonUtils}启动时自动注册，序列化时不再使用反射。
+ * 处理器需要在编译配置中显式指定，见{@link TypeAdapterProcessor}。
+ * <p>
+ * 字段名遵循{@code @SerializedName}，跳过static和transient字段，与Gson默认的反射适配器输出一致。
+ * 普通类需要非private的无参构造方法，字段需要非private或提供getter/setter，不支持泛型类。
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateTypeAdapter {
+}
@@ -0,0 +1,14 @@
+package dantesyh.utils;
+
+import com.google.gson.TypeAdapterFactory;
+
+/**
+ * {@link TypeAdapterProcessor}生成的适配器工厂实现的标记接口。
+ * <p>
+ * {@link JsonUtils}只通过{@link java.util.ServiceLoader}加载该接口的实现，类路径上其他库登记的{@link TypeAdapterFactory}不会被注册。
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+public interface GeneratedTypeAdapterFactory extends TypeAdapterFactory {
+}
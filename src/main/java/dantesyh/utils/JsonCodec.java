@@ -0,0 +1,183 @@
+package dantesyh.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * 指定类型的JSON编解码器，持有预先查找好的{@link TypeAdapter}，重复序列化同一类型时跳过类型解析和适配器查找。
+ * <p>
+ * 通过{@link JsonUtils#codec(Class)}等方法获取，实例不可变，可在多线程间共享。
+ * 解析规则与{@link Gson#fromJson(String, Class)}一致：宽松模式解析，空文档返回null，文档必须被完整读取。
+ *
+ * @param <T> 编解码的类型
+ * @author dante
+ * @since 2026/10/18
+ */
+public final class JsonCodec<T> {
+    private final Gson gson;
+    private final TypeToken<T> type;
+    private final TypeAdapter<T> adapter;
+
+    JsonCodec(Gson gson, TypeToken<T> type) {
+        this.gson = gson;
+        this.type = type;
+        this.adapter = gson.getAdapter(type);
+    }
+
+    /**
+     * 获取该类型的TypeAdapter。
+     *
+     * @return TypeAdapter
+     */
+    public TypeAdapter<T> adapter() {
+        return adapter;
+    }
+
+    /**
+     * 将JSON字符串转换为对象。
+     *
+     * @param json JSON字符串
+     * @return 转换后的对象，JSON为null或空文档时返回null
+     */
+    public T fromJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        return fromJson(new StringReader(json));
+    }
+
+    /**
+     * 从Reader读取一个完整的JSON文档并转换为对象，Reader由调用方关闭。
+     *
+     * @param reader JSON字符输入
+     * @return 转换后的对象，空文档时返回null
+     */
+    public T fromJson(Reader reader) {
+        JsonReader jsonReader = gson.newJsonReader(reader);
+        T value = read(jsonReader);
+        try {
+            if (value != null && jsonReader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("JSON document was not fully consumed.");
+            }
+        } catch (MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+        return value;
+    }
+
+    /**
+     * 从JsonReader读取下一个值，读取期间临时使用宽松模式。
+     *
+     * @param reader JSON读取器
+     * @return 转换后的对象，读取器已到文档末尾时返回null
+     */
+    public T read(JsonReader reader) {
+        boolean empty = true;
+        boolean lenient = reader.isLenient();
+        reader.setLenient(true);
+        try {
+            reader.peek();
+            empty = false;
+            return adapter.read(reader);
+        } catch (EOFException e) {
+            if (empty) {
+                return null;
+            }
+            throw new JsonSyntaxException(e);
+        } catch (IllegalStateException | IOException e) {
+            throw new JsonSyntaxException(e);
+        } finally {
+            reader.setLenient(lenient);
+        }
+    }
+
+    /**
+     * 将对象转换为JSON字符串，使用该类型的适配器而不是对象的运行时类型。
+     *
+     * @param value 要转换的对象
+     * @return JSON字符串
+     */
+    public String toJson(T value) {
+        StringWriter writer = new StringWriter();
+        toJson(value, writer);
+        return writer.toString();
+    }
+
+    /**
+     * 将对象以JSON格式写入Writer，Writer由调用方关闭。
+     *
+     * @param value  要转换的对象
+     * @param writer JSON字符输出
+     */
+    public void toJson(T value, Writer writer) {
+        try {
+            JsonWriter jsonWriter = gson.newJsonWriter(writer);
+            write(value, jsonWriter);
+            jsonWriter.flush();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * 将对象编码为紧凑的二进制格式，数据模型与JSON相同，适合缓存等内部存储。
+     *
+     * @param value 要编码的对象
+     * @return 二进制编码
+     */
+    public byte[] toBinary(T value) {
+        BinaryJson.BinaryWriter writer = new BinaryJson.BinaryWriter();
+        writer.setSerializeNulls(gson.serializeNulls());
+        write(value, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * 从{@link #toBinary(Object)}生成的二进制编码解码对象。解码会先构建完整的{@link com.google.gson.JsonElement}树，
+     * 比{@link #fromJson(String)}慢且分配更多内存。
+     *
+     * @param bytes 二进制编码
+     * @return 解码后的对象，数据为null或空时返回null
+     */
+    public T fromBinary(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        // 经由Gson的树形读取器绑定，Map的非字符串键等依赖读取器内部状态的适配器行为与JSON文本一致
+        return gson.fromJson(BinaryJson.decode(bytes), type);
+    }
+
+    /**
+     * 将对象写入JsonWriter，写入期间临时使用宽松模式，与Gson的序列化行为一致。
+     *
+     * @param value  要转换的对象
+     * @param writer JSON写入器
+     */
+    public void write(T value, JsonWriter writer) {
+        boolean lenient = writer.isLenient();
+        writer.setLenient(true);
+        try {
+            adapter.write(writer, value);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        } finally {
+            writer.setLenient(lenient);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package dantesyh.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按路径从JSON文档中提取少量字段，不绑定完整对象。
+ * <p>
+ * 路径以{@code $}开头，支持{@code .name}、{@code ['name']}和{@code [index]}，例如{@code $.header.type}、{@code $.items[0].id}。
+ * 使用流式读取器扫描文档，跳过无关的子树，所有路径都找到后立即停止，不再读取文档剩余部分。
+ * 通过{@link JsonUtils#extractor(String...)}获取，实例不可变，可在多线程间共享。
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+public final class JsonExtractor {
+    private final Gson gson;
+    private final Node root = new Node();
+    /**
+     * 去重后的路径，按声明顺序排列
+     */
+    private final List<String> paths = new ArrayList<>();
+
+    JsonExtractor(Gson gson, String... paths) {
+        this.gson = gson;
+        for (String path : paths) {
+            Node node = root;
+            for (Object segment : parsePath(path)) {
+                node = segment instanceof String name
+                        ? node.fields.computeIfAbsent(name, k -> new Node())
+                        : node.indexes.computeIfAbsent((Integer) segment, k -> new Node());
+            }
+            // 等价的写法（例如$.a和$['a']）落在同一节点，各自保留
+            if (!node.paths.contains(path)) {
+                node.paths.add(path);
+                this.paths.add(path);
+            }
+        }
+    }
+
+    /**
+     * 从JSON字符串中提取路径对应的值。
+     *
+     * @param json JSON字符串
+     * @return 以路径为键的值，按路径声明顺序排列；不存在的路径不包含在结果中
+     * @throws IllegalArgumentException json为null
+     */
+    public Map<String, JsonElement> extract(String json) {
+        if (json == null) {
+            throw new IllegalArgumentException("JSON input must not be null");
+        }
+        return extract(new StringReader(json));
+    }
+
+    /**
+     * 从Reader中提取路径对应的值，找到所有路径后停止读取，Reader由调用方关闭。
+     *
+     * @param reader JSON字符输入
+     * @return 以路径为键的值，按路径声明顺序排列；不存在的路径不包含在结果中
+     * @throws IllegalArgumentException reader为null
+     */
+    public Map<String, JsonElement> extract(Reader reader) {
+        if (reader == null) {
+            throw new IllegalArgumentException("JSON input must not be null");
+        }
+        Map<String, JsonElement> result = new LinkedHashMap<>();
+        JsonReader jsonReader = gson.newJsonReader(reader);
+        jsonReader.setLenient(true);
+        try {
+            if (jsonReader.peek() != JsonToken.END_DOCUMENT) {
+                walk(jsonReader, root, result);
+            }
+        } catch (EOFException | MalformedJsonException | IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+        if (result.size() < 2) {
+            return result;
+        }
+        // 扫描按文档顺序写入，按声明顺序重新排列
+        Map<String, JsonElement> ordered = new LinkedHashMap<>();
+        for (String path : paths) {
+            JsonElement element = result.get(path);
+            if (element != null) {
+                ordered.put(path, element);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * 提取单个路径的值并转换为指定类型，只能用于只有一个路径的提取器。
+     *
+     * @param json  JSON字符串
+     * @param clazz 目标类的Class对象
+     * @param <T>   目标类的类型
+     * @return 转换后的值，路径不存在或值为null时返回null
+     * @throws IllegalArgumentException json为null
+     */
+    public <T> T extract(String json, Class<T> clazz) {
+        if (paths.size() != 1) {
+            throw new IllegalStateException("Extractor has " + paths.size() + " paths");
+        }
+        Map<String, JsonElement> result = extract(json);
+        if (result.isEmpty()) {
+            return null;
+        }
+        return JsonUtils.codec(clazz).adapter().fromJsonTree(result.values().iterator().next());
+    }
+
+    /**
+     * 读取当前值，只进入路径前缀中的对象和数组，其余子树直接跳过。
+     */
+    private void walk(JsonReader reader, Node node, Map<String, JsonElement> result) throws IOException {
+        if (!node.paths.isEmpty()) {
+            JsonElement element = JsonParser.parseReader(reader);
+            collect(element, node, result);
+            return;
+        }
+        JsonToken token = reader.peek();
+        if (token == JsonToken.BEGIN_OBJECT && !node.fields.isEmpty()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                Node child = node.fields.get(reader.nextName());
+                if (child == null) {
+                    reader.skipValue();
+                } else {
+                    walk(reader, child, result);
+                    if (result.size() == paths.size()) {
+                        return;
+                    }
+                }
+            }
+            reader.endObject();
+        } else if (token == JsonToken.BEGIN_ARRAY && !node.indexes.isEmpty()) {
+            reader.beginArray();
+            for (int i = 0; reader.hasNext(); i++) {
+                Node child = node.indexes.get(i);
+                if (child == null) {
+                    reader.skipValue();
+                } else {
+                    walk(reader, child, result);
+                    if (result.size() == paths.size()) {
+                        return;
+                    }
+                }
+            }
+            reader.endArray();
+        } else {
+            reader.skipValue();
+        }
+    }
+
+    /**
+     * 记录已解析的值，同时从该值中取出更深的路径。
+     */
+    private static void collect(JsonElement element, Node node, Map<String, JsonElement> result) {
+        for (String path : node.paths) {
+            result.put(path, element);
+        }
+        if (element instanceof JsonObject object) {
+            node.fields.forEach((name, child) -> {
+                JsonElement value = object.get(name);
+                if (value != null) {
+                    collect(value, child, result);
+                }
+            });
+        } else if (element instanceof JsonArray array) {
+            node.indexes.forEach((index, child) -> {
+                if (index < array.size()) {
+                    collect(array.get(index), child, result);
+                }
+            });
+        }
+    }
+
+    /**
+     * 解析路径为字段名（String）和数组下标（Integer）组成的列表。
+     */
+    private static List<Object> parsePath(String path) {
+        if (path == null || !path.startsWith("$")) {
+            throw new IllegalArgumentException("JSON path must start with '$': " + path);
+        }
+        List<Object> segments = new ArrayList<>();
+        int i = 1;
+        int length = path.length();
+        while (i < length) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int start = ++i;
+                while (i < length && path.charAt(i) != '.' && path.charAt(i) != '[') {
+                    i++;
+                }
+                if (i == start) {
+                    throw new IllegalArgumentException("Empty field name in JSON path: " + path);
+                }
+                segments.add(path.substring(start, i));
+            } else if (c == '[') {
+                int close = path.indexOf(']', i);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed '[' in JSON path: " + path);
+                }
+                String content = path.substring(i + 1, close);
+                if (content.length() >= 2 && (content.charAt(0) == '\'' || content.charAt(0) == '"')
+                        && content.charAt(content.length() - 1) == content.charAt(0)) {
+                    segments.add(content.substring(1, content.length() - 1));
+                } else {
+                    try {
+                        segments.add(Integer.parseInt(content));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid array index in JSON path: " + path, e);
+                    }
+                }
+                i = close + 1;
+            } else {
+                throw new IllegalArgumentException("Unexpected character '" + c + "' in JSON path: " + path);
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * 路径前缀树的节点
+     */
+    private static final class Node {
+        private final Map<String, Node> fields = new HashMap<>();
+        private final Map<Integer, Node> indexes = new HashMap<>();
+        private final List<String> paths = new ArrayList<>(1);
+    }
+}
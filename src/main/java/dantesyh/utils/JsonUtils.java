@@ -2,10 +2,60 @@ package dantesyh.utils;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * JSON 工具类
@@ -17,7 +67,95 @@ public class JsonUtils {
     private JsonUtils() {
     }
 
-    private static final Gson gson = new GsonBuilder().create();
+    private static final Gson gson = createGson();
+
+    /**
+     * 按类缓存的编解码器
+     */
+    private static final ClassValue<JsonCodec<?>> CLASS_CODECS = new ClassValue<>() {
+        @Override
+        protected JsonCodec<?> computeValue(Class<?> type) {
+            return new JsonCodec<>(gson, TypeToken.get(type));
+        }
+    };
+
+    /**
+     * 按元素类缓存的List编解码器
+     */
+    private static final ClassValue<JsonCodec<?>> LIST_CODECS = new ClassValue<>() {
+        @Override
+        protected JsonCodec<?> computeValue(Class<?> type) {
+            return codec(TypeToken.getParameterized(List.class, type).getType());
+        }
+    };
+
+    /**
+     * 非Class类型的编解码器缓存数量上限
+     */
+    private static final int TYPE_CODEC_CACHE_SIZE = 256;
+
+    /**
+     * 按参数化类型等非Class类型缓存的编解码器，动态生成的类型较多时淘汰最久未使用的
+     */
+    private static final LruCache<Type, JsonCodec<?>> TYPE_CODECS = new LruCache<>(TYPE_CODEC_CACHE_SIZE);
+
+    /**
+     * NDJSON写入时的缓冲区大小
+     */
+    private static final int NDJSON_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * NDJSON并行读取时区段的最小字节数，小于该值不再切分
+     */
+    private static final long NDJSON_MIN_SPLIT_SIZE = 256 * 1024;
+
+    /**
+     * NDJSON文件每次映射的窗口大小
+     */
+    private static final int NDJSON_WINDOW_SIZE = 32 * 1024 * 1024;
+
+    /**
+     * 异步序列化时每个分块的默认元素个数
+     */
+    private static final int ASYNC_CHUNK_SIZE = 1024;
+
+    /**
+     * 异步序列化写出阶段的默认执行器，写出可能阻塞，不占用公共ForkJoinPool；线程数有上限，空闲时回收
+     */
+    private static final Executor ASYNC_WRITE_EXECUTOR = asyncWriteExecutor();
+
+    /**
+     * 创建共享的Gson实例，注册{@link TypeAdapterProcessor}在编译期生成的适配器工厂，
+     * 被{@link GenerateTypeAdapter}标记的类不再使用反射适配器。只加载{@link GeneratedTypeAdapterFactory}的实现，单个工厂加载失败时跳过。
+     */
+    private static Gson createGson() {
+        GsonBuilder builder = new GsonBuilder();
+        Iterator<GeneratedTypeAdapterFactory> factories = ServiceLoader.load(GeneratedTypeAdapterFactory.class).iterator();
+        while (true) {
+            try {
+                if (!factories.hasNext()) {
+                    break;
+                }
+                builder.registerTypeAdapterFactory(factories.next());
+            } catch (ServiceConfigurationError e) {
+                // 登记的类已删除或无法实例化时跳过，对应的类回退到反射适配器
+                Logger.getLogger(JsonUtils.class.getName()).log(Level.WARNING, "Skipping generated type adapter factory", e);
+            }
+        }
+        return builder.create();
+    }
+
+    private static Executor asyncWriteExecutor() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "json-async-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
 
     /**
      * 将JSON字符串转换为指定类型的对象。
@@ -28,7 +166,7 @@ public class JsonUtils {
      * @return 转换后的对象
      */
     public static <T> T fromJson(String json, Class<T> clazz) {
-        return gson.fromJson(json, clazz);
+        return codec(clazz).fromJson(json);
     }
 
     /**
@@ -40,7 +178,7 @@ public class JsonUtils {
      * @return 转换后的对象
      */
     public static <T> T fromJson(String json, Type type) {
-        return gson.fromJson(json, type);
+        return JsonUtils.<T>codec(type).fromJson(json);
     }
 
     /**
@@ -52,7 +190,7 @@ public class JsonUtils {
      * @return 转换后的对象
      */
     public static <T> T fromJson(String json, TypeToken<T> typeToken) {
-        return gson.fromJson(json, typeToken.getType());
+        return codec(typeToken).fromJson(json);
     }
 
     /**
@@ -64,8 +202,7 @@ public class JsonUtils {
      * @return 转换后的List
      */
     public static <T> List<T> fromJsonList(String json, Class<T> clazz) {
-        Type listType = TypeToken.getParameterized(List.class, clazz).getType();
-        return gson.fromJson(json, listType);
+        return listCodec(clazz).fromJson(json);
     }
 
     /**
@@ -75,7 +212,944 @@ public class JsonUtils {
      * @return JSON字符串
      */
     public static String toJson(Object object) {
-        return gson.toJson(object);
+        if (object == null) {
+            return gson.toJson(null);
+        }
+        return runtimeCodec(object).toJson(object);
+    }
+
+    /**
+     * 将对象转换为UTF-8编码的JSON字节数组，不生成中间字符串。
+     *
+     * @param object 要转换为JSON的对象
+     * @return UTF-8编码的JSON字节
+     */
+    public static byte[] toJsonBytes(Object object) {
+        Utf8Writer writer = Utf8Writer.acquire();
+        try {
+            writeJson(object, writer);
+            return writer.toByteArray();
+        } finally {
+            writer.release();
+        }
+    }
+
+    /**
+     * 将对象以UTF-8编码的JSON格式直接写入输出流，使用线程复用的缓冲区，不生成中间字符串。
+     * 输出流不会被刷新或关闭。
+     *
+     * @param object 要转换为JSON的对象
+     * @param out    输出流
+     */
+    public static void toJson(Object object, OutputStream out) {
+        Utf8Writer writer = Utf8Writer.acquire(out);
+        try {
+            writeJson(object, writer);
+        } finally {
+            writer.release();
+        }
     }
 
+    /**
+     * 将对象以UTF-8编码的JSON格式直接写入通道，使用线程复用的缓冲区，不生成中间字符串。
+     * 通道需要是阻塞模式，不会被关闭。
+     *
+     * @param object  要转换为JSON的对象
+     * @param channel 输出通道
+     */
+    public static void toJson(Object object, WritableByteChannel channel) {
+        Utf8Writer writer = Utf8Writer.acquire(channel);
+        try {
+            writeJson(object, writer);
+        } finally {
+            writer.release();
+        }
+    }
+
+    /**
+     * 按运行时类型序列化对象并写出Writer中的缓冲数据。
+     */
+    private static void writeJson(Object object, Writer writer) {
+        try {
+            JsonWriter jsonWriter = gson.newJsonWriter(writer);
+            if (object == null) {
+                jsonWriter.nullValue();
+            } else {
+                runtimeCodec(object).write(object, jsonWriter);
+            }
+            jsonWriter.flush();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * 将int数组转换为JSON数组字符串，不装箱。
+     *
+     * @param values int数组
+     * @return JSON字符串，数组为null时返回"null"
+     */
+    public static String toJsonIntArray(int[] values) {
+        if (values == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(values.length * 4 + 2).append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(values[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * 将long数组转换为JSON数组字符串，不装箱。
+     *
+     * @param values long数组
+     * @return JSON字符串，数组为null时返回"null"
+     */
+    public static String toJsonLongArray(long[] values) {
+        if (values == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(values.length * 8 + 2).append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(values[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * 将double数组转换为JSON数组字符串，不装箱，数字格式与Gson一致。
+     *
+     * @param values double数组
+     * @return JSON字符串，数组为null时返回"null"
+     * @throws IllegalArgumentException 包含NaN或无穷大时
+     */
+    public static String toJsonDoubleArray(double[] values) {
+        if (values == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(values.length * 8 + 2).append('[');
+        for (int i = 0; i < values.length; i++) {
+            double value = values[i];
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                throw new IllegalArgumentException(value + " is not a valid double value as per JSON specification.");
+            }
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(value);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * 将JSON数字数组直接解析为int数组，不生成装箱的Integer。
+     *
+     * @param json JSON数组字符串
+     * @return int数组，JSON为null或空文档时返回null
+     */
+    public static int[] fromJsonIntArray(String json) {
+        return json == null ? null : fromJsonIntArray(new StringReader(json));
+    }
+
+    /**
+     * 从Reader流式读取JSON数字数组为int数组，Reader由调用方关闭。
+     *
+     * @param reader JSON数组的字符输入
+     * @return int数组，JSON为null或空文档时返回null
+     */
+    public static int[] fromJsonIntArray(Reader reader) {
+        try {
+            JsonReader in = beginNumberArray(reader);
+            if (in == null) {
+                return null;
+            }
+            int[] values = new int[16];
+            int size = 0;
+            while (in.hasNext()) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = in.nextInt();
+            }
+            endNumberArray(in);
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        } catch (NumberFormatException | IllegalStateException | MalformedJsonException | EOFException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * 从UTF-8编码的输入流流式读取JSON数字数组为int数组，输入流由调用方关闭。
+     *
+     * @param in JSON数组的字节输入
+     * @return int数组，JSON为null或空文档时返回null
+     */
+    public static int[] fromJsonIntArray(InputStream in) {
+        return fromJsonIntArray(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 将JSON数字数组直接解析为long数组，不生成装箱的Long。
+     *
+     * @param json JSON数组字符串
+     * @return long数组，JSON为null或空文档时返回null
+     */
+    public static long[] fromJsonLongArray(String json) {
+        return json == null ? null : fromJsonLongArray(new StringReader(json));
+    }
+
+    /**
+     * 从Reader流式读取JSON数字数组为long数组，Reader由调用方关闭。
+     *
+     * @param reader JSON数组的字符输入
+     * @return long数组，JSON为null或空文档时返回null
+     */
+    public static long[] fromJsonLongArray(Reader reader) {
+        try {
+            JsonReader in = beginNumberArray(reader);
+            if (in == null) {
+                return null;
+            }
+            long[] values = new long[16];
+            int size = 0;
+            while (in.hasNext()) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = in.nextLong();
+            }
+            endNumberArray(in);
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        } catch (NumberFormatException | IllegalStateException | MalformedJsonException | EOFException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * 从UTF-8编码的输入流流式读取JSON数字数组为long数组，输入流由调用方关闭。
+     *
+     * @param in JSON数组的字节输入
+     * @return long数组，JSON为null或空文档时返回null
+     */
+    public static long[] fromJsonLongArray(InputStream in) {
+        return fromJsonLongArray(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 将JSON数字数组直接解析为double数组，不生成装箱的Double。
+     *
+     * @param json JSON数组字符串
+     * @return double数组，JSON为null或空文档时返回null
+     */
+    public static double[] fromJsonDoubleArray(String json) {
+        return json == null ? null : fromJsonDoubleArray(new StringReader(json));
+    }
+
+    /**
+     * 从Reader流式读取JSON数字数组为double数组，Reader由调用方关闭。
+     *
+     * @param reader JSON数组的字符输入
+     * @return double数组，JSON为null或空文档时返回null
+     */
+    public static double[] fromJsonDoubleArray(Reader reader) {
+        try {
+            JsonReader in = beginNumberArray(reader);
+            if (in == null) {
+                return null;
+            }
+            double[] values = new double[16];
+            int size = 0;
+            while (in.hasNext()) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = in.nextDouble();
+            }
+            endNumberArray(in);
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        } catch (NumberFormatException | IllegalStateException | MalformedJsonException | EOFException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * 从UTF-8编码的输入流流式读取JSON数字数组为double数组，输入流由调用方关闭。
+     *
+     * @param in JSON数组的字节输入
+     * @return double数组，JSON为null或空文档时返回null
+     */
+    public static double[] fromJsonDoubleArray(InputStream in) {
+        return fromJsonDoubleArray(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 按{@link Gson#fromJson(Reader, Class)}的规则打开数组：宽松模式，空文档或null返回null。
+     */
+    private static JsonReader beginNumberArray(Reader reader) throws IOException {
+        JsonReader in = gson.newJsonReader(reader);
+        in.setLenient(true);
+        try {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+        } catch (EOFException e) {
+            return null;
+        }
+        in.beginArray();
+        return in;
+    }
+
+    private static void endNumberArray(JsonReader in) throws IOException {
+        in.endArray();
+        if (in.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonSyntaxException("JSON document was not fully consumed.");
+        }
+    }
+
+    /**
+     * 将对象编码为紧凑的二进制格式，数据模型与JSON相同，比JSON文本更小，适合本地或Redis等按字节计费的缓存。
+     * <p>
+     * 解码时先还原为{@link JsonElement}树再绑定到目标类型，速度和内存分配都不如{@link #fromJson(String, Class)}，
+     * 只在存储空间比解码耗时更重要时使用。
+     *
+     * @param object 要编码的对象
+     * @return 二进制编码
+     */
+    public static byte[] toBinary(Object object) {
+        if (object == null) {
+            return codec(Object.class).toBinary(null);
+        }
+        return runtimeCodec(object).toBinary(object);
+    }
+
+    /**
+     * 将{@link #toBinary(Object)}生成的二进制编码解码为指定类型的对象。
+     *
+     * @param bytes 二进制编码
+     * @param clazz 目标类的Class对象
+     * @param <T>   目标类的类型
+     * @return 解码后的对象
+     */
+    public static <T> T fromBinary(byte[] bytes, Class<T> clazz) {
+        return codec(clazz).fromBinary(bytes);
+    }
+
+    /**
+     * 将{@link #toBinary(Object)}生成的二进制编码解码为指定类型的对象。
+     *
+     * @param bytes 二进制编码
+     * @param type  目标类型的Type对象
+     * @param <T>   目标类型
+     * @return 解码后的对象
+     */
+    public static <T> T fromBinary(byte[] bytes, Type type) {
+        return JsonUtils.<T>codec(type).fromBinary(bytes);
+    }
+
+    /**
+     * 将{@link #toBinary(Object)}生成的二进制编码解码为指定类型的对象。
+     *
+     * @param bytes     二进制编码
+     * @param typeToken TypeToken对象，包含目标类型信息
+     * @param <T>       目标类型
+     * @return 解码后的对象
+     */
+    public static <T> T fromBinary(byte[] bytes, TypeToken<T> typeToken) {
+        return codec(typeToken).fromBinary(bytes);
+    }
+
+    /**
+     * 获取指定类的JSON编解码器，同一个类只查找一次适配器，可长期持有重复使用。
+     *
+     * @param clazz 目标类的Class对象
+     * @param <T>   目标类的类型
+     * @return JSON编解码器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JsonCodec<T> codec(Class<T> clazz) {
+        return (JsonCodec<T>) CLASS_CODECS.get(clazz);
+    }
+
+    /**
+     * 获取元素为指定类的List的JSON编解码器，参数化类型只解析一次。
+     *
+     * @param clazz 元素的Class对象
+     * @param <T>   元素的类型
+     * @return JSON编解码器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JsonCodec<List<T>> listCodec(Class<T> clazz) {
+        return (JsonCodec<List<T>>) LIST_CODECS.get(clazz);
+    }
+
+    /**
+     * 获取指定类型的JSON编解码器。
+     *
+     * @param typeToken TypeToken对象，包含目标类型信息
+     * @param <T>       目标类型
+     * @return JSON编解码器
+     */
+    public static <T> JsonCodec<T> codec(TypeToken<T> typeToken) {
+        return codec(typeToken.getType());
+    }
+
+    /**
+     * 获取指定类型的JSON编解码器。
+     *
+     * @param type 目标类型的Type对象
+     * @param <T>  目标类型
+     * @return JSON编解码器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JsonCodec<T> codec(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return (JsonCodec<T>) CLASS_CODECS.get(clazz);
+        }
+        JsonCodec<T> codec = (JsonCodec<T>) TYPE_CODECS.get(type);
+        if (codec == null) {
+            codec = new JsonCodec<>(gson, (TypeToken<T>) TypeToken.get(type));
+            TYPE_CODECS.put(type, codec);
+        }
+        return codec;
+    }
+
+    /**
+     * 获取非Class类型编解码器缓存的统计数据，Class类型的编解码器不经过该缓存。
+     *
+     * @return 编解码器缓存统计数据
+     */
+    public static CacheStats codecCacheStats() {
+        return TYPE_CODECS.stats();
+    }
+
+    /**
+     * 获取对象运行时类型的编解码器，与{@link Gson#toJson(Object)}按运行时类型序列化的行为一致。
+     */
+    @SuppressWarnings("unchecked")
+    private static JsonCodec<Object> runtimeCodec(Object object) {
+        return (JsonCodec<Object>) CLASS_CODECS.get(object.getClass());
+    }
+
+    /**
+     * 创建按路径提取字段的提取器，路径只解析一次，可长期持有重复使用。
+     *
+     * @param paths 以{@code $}开头的路径，例如{@code $.header.type}
+     * @return JSON路径提取器
+     */
+    public static JsonExtractor extractor(String... paths) {
+        return new JsonExtractor(gson, paths);
+    }
+
+    /**
+     * 从JSON字符串中提取路径对应的值，只解析命中的值，找到所有路径后停止扫描。
+     *
+     * @param json  JSON字符串
+     * @param paths 以{@code $}开头的路径
+     * @return 以路径为键的值；不存在的路径不包含在结果中
+     */
+    public static Map<String, JsonElement> extract(String json, String... paths) {
+        return extractor(paths).extract(json);
+    }
+
+    /**
+     * 从JSON字符串中提取单个路径的值并转换为指定类型。
+     *
+     * @param json  JSON字符串
+     * @param path  以{@code $}开头的路径
+     * @param clazz 目标类的Class对象
+     * @param <T>   目标类的类型
+     * @return 转换后的值，路径不存在或值为null时返回null
+     */
+    public static <T> T extract(String json, String path, Class<T> clazz) {
+        return extractor(path).extract(json, clazz);
+    }
+
+    /**
+     * 从Reader中惰性读取顶层JSON数组的元素，每次只解析一个元素，适合处理超大文件。
+     * 迭代中的读取或格式错误以{@link JsonIOException}或{@link JsonSyntaxException}抛出。
+     *
+     * @param reader JSON数组的字符输入
+     * @param clazz  元素的Class对象
+     * @param <T>    元素的类型
+     * @return 元素迭代器
+     */
+    public static <T> Iterator<T> fromJsonIterator(Reader reader, Class<T> clazz) {
+        return new JsonArrayIterator<>(gson.newJsonReader(reader), codec(clazz).adapter());
+    }
+
+    /**
+     * 从Reader中惰性读取顶层JSON数组的元素，关闭Stream时关闭Reader。
+     *
+     * @param reader JSON数组的字符输入
+     * @param clazz  元素的Class对象
+     * @param <T>    元素的类型
+     * @return 元素流
+     */
+    public static <T> Stream<T> fromJsonStream(Reader reader, Class<T> clazz) {
+        JsonArrayIterator<T> iterator = new JsonArrayIterator<>(gson.newJsonReader(reader), codec(clazz).adapter());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * 从UTF-8编码的输入流中惰性读取顶层JSON数组的元素，关闭Stream时关闭输入流。
+     *
+     * @param in    JSON数组的字节输入
+     * @param clazz 元素的Class对象
+     * @param <T>   元素的类型
+     * @return 元素流
+     */
+    public static <T> Stream<T> fromJsonStream(InputStream in, Class<T> clazz) {
+        return fromJsonStream(new InputStreamReader(in, StandardCharsets.UTF_8), clazz);
+    }
+
+    /**
+     * 从UTF-8编码的文件中惰性读取顶层JSON数组的元素，使用完毕后需要关闭Stream以关闭文件。
+     *
+     * @param path  JSON文件路径
+     * @param clazz 元素的Class对象
+     * @param <T>   元素的类型
+     * @return 元素流
+     * @throws IOException 如果打开文件失败
+     */
+    public static <T> Stream<T> fromJsonStream(Path path, Class<T> clazz) throws IOException {
+        return fromJsonStream(Files.newBufferedReader(path, StandardCharsets.UTF_8), clazz);
+    }
+
+    /**
+     * 以内存映射方式读取NDJSON（每行一个JSON文档）文件。
+     * 文件在换行处切分为多个区段，由ForkJoin公共线程池并行解析，返回的Stream为并行流，
+     * 需要按顺序处理时使用{@link Stream#forEachOrdered}或调用{@link Stream#sequential()}。
+     * 空行会被跳过，使用完毕后需要关闭Stream以关闭文件。
+     *
+     * @param path  NDJSON文件路径
+     * @param clazz 每行对象的Class对象
+     * @param <T>   每行对象的类型
+     * @return 按文件顺序排列的对象流
+     * @throws IOException 如果打开文件失败
+     */
+    public static <T> Stream<T> fromNdjson(Path path, Class<T> clazz) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            NdjsonSpliterator<T> spliterator = new NdjsonSpliterator<>(codec(clazz), channel, null, 0, channel.size());
+            return StreamSupport.stream(spliterator, true).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 并行读取缓冲区中position到limit之间的NDJSON数据，例如调用方自行映射的文件区域。
+     * 读取时不会修改缓冲区的position和limit。
+     *
+     * @param buffer NDJSON数据，UTF-8编码
+     * @param clazz  每行对象的Class对象
+     * @param <T>    每行对象的类型
+     * @return 按数据顺序排列的并行对象流
+     */
+    public static <T> Stream<T> fromNdjson(ByteBuffer buffer, Class<T> clazz) {
+        return StreamSupport.stream(new NdjsonSpliterator<>(codec(clazz), null, buffer, buffer.position(), buffer.limit()), true);
+    }
+
+    /**
+     * 将对象流以NDJSON格式写入输出流，每个对象一行，按运行时类型序列化。
+     * 使用带缓冲的UTF-8输出批量写入；输入为并行流时各对象并行序列化，输出仍保持原有顺序。
+     * 写入完成后刷新输出流，输出流由调用方关闭。
+     *
+     * @param stream 要写入的对象流
+     * @param out    输出流
+     * @throws IOException 如果写入失败
+     */
+    public static void toNdjson(Stream<?> stream, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), NDJSON_BUFFER_SIZE);
+        try {
+            if (stream.isParallel()) {
+                stream.map(JsonUtils::toJson).forEachOrdered(line -> {
+                    try {
+                        writer.write(line);
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } else {
+                JsonWriter jsonWriter = gson.newJsonWriter(writer);
+                // 宽松模式允许同一个JsonWriter写出多个顶层值
+                jsonWriter.setLenient(true);
+                stream.forEach(object -> {
+                    try {
+                        if (object == null) {
+                            jsonWriter.nullValue();
+                        } else {
+                            runtimeCodec(object).write(object, jsonWriter);
+                        }
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    /**
+     * 异步将List序列化为JSON数组写入输出流，输出与{@link #toJson(Object, OutputStream)}相同。
+     * 元素按分块在公共ForkJoinPool上并行编码，已完成的分块按顺序写出，编码与写出重叠进行。
+     * 可能阻塞的写出在线程数有限的专用执行器上运行，不会占用公共ForkJoinPool。
+     *
+     * @param list 要序列化的List，序列化完成前不能修改
+     * @param out  输出流，完成时刷新，不会被关闭
+     * @return 全部写出后完成的Future，写出失败时以IOException异常完成
+     */
+    public static CompletableFuture<Void> toJsonAsync(List<?> list, OutputStream out) {
+        return toJsonAsync(list, out, ForkJoinPool.commonPool(), ASYNC_WRITE_EXECUTOR, ASYNC_CHUNK_SIZE);
+    }
+
+    /**
+     * 异步将List序列化为JSON数组写入输出流，编码和写出都在指定执行器上运行，写出阻塞时占用该执行器的线程。
+     *
+     * @param list      要序列化的List，序列化完成前不能修改
+     * @param out       输出流，完成时刷新，不会被关闭
+     * @param executor  执行编码和写出的执行器
+     * @param chunkSize 每个分块的元素个数
+     * @return 全部写出后完成的Future，写出失败时以IOException异常完成
+     */
+    public static CompletableFuture<Void> toJsonAsync(List<?> list, OutputStream out, Executor executor, int chunkSize) {
+        return toJsonAsync(list, out, executor, executor, chunkSize);
+    }
+
+    /**
+     * 异步将List序列化为JSON数组写入输出流，编码和写出分别在指定的执行器上运行。
+     * 同时编码的分块数有上限，写出慢于编码时不会把整个List的结果都留在内存中。
+     *
+     * @param list           要序列化的List，序列化完成前不能修改
+     * @param out            输出流，完成时刷新，不会被关闭
+     * @param encodeExecutor 执行编码的执行器
+     * @param writeExecutor  执行写出的执行器，同一次调用的写出任务依次运行
+     * @param chunkSize      每个分块的元素个数
+     * @return 全部写出后完成的Future，写出失败时以IOException异常完成
+     */
+    public static CompletableFuture<Void> toJsonAsync(List<?> list, OutputStream out, Executor encodeExecutor,
+                                                      Executor writeExecutor, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        // 分块按下标截取，非随机访问的List先复制引用
+        List<?> elements = list instanceof RandomAccess ? list : new ArrayList<>(list);
+        return new ChunkedJsonWriter(elements, out, encodeExecutor, writeExecutor, chunkSize).start();
+    }
+
+    /**
+     * 分块并行编码、按顺序写出JSON数组
+     */
+    private static final class ChunkedJsonWriter {
+        private final List<?> list;
+        private final OutputStream out;
+        private final Executor encodeExecutor;
+        private final Executor writeExecutor;
+        private final int chunkSize;
+        private final int chunkCount;
+        /**
+         * 同时编码或等待写出的分块数上限
+         */
+        private final int window;
+        private final AtomicReferenceArray<CompletableFuture<byte[]>> chunks;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        ChunkedJsonWriter(List<?> list, OutputStream out, Executor encodeExecutor, Executor writeExecutor, int chunkSize) {
+            this.list = list;
+            this.out = out;
+            this.encodeExecutor = encodeExecutor;
+            this.writeExecutor = writeExecutor;
+            this.chunkSize = chunkSize;
+            this.chunkCount = (int) (((long) list.size() + chunkSize - 1) / chunkSize);
+            this.window = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+            this.chunks = new AtomicReferenceArray<>(chunkCount);
+        }
+
+        CompletableFuture<Void> start() {
+            if (chunkCount == 0) {
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        out.write(new byte[]{'[', ']'});
+                        out.flush();
+                        result.complete(null);
+                    } catch (Throwable e) {
+                        result.completeExceptionally(e);
+                    }
+                }, writeExecutor);
+                return result;
+            }
+            for (int i = 0; i < Math.min(window, chunkCount); i++) {
+                submit(i);
+            }
+            writeAfter(0);
+            return result;
+        }
+
+        private void submit(int index) {
+            chunks.set(index, CompletableFuture.supplyAsync(() -> encode(index), encodeExecutor));
+        }
+
+        /**
+         * 编码一个分块为JSON数组，写出时去掉首尾的方括号。
+         */
+        private byte[] encode(int index) {
+            if (result.isDone()) {
+                return null;
+            }
+            List<?> chunk = list.subList(index * chunkSize, Math.min(list.size(), (index + 1) * chunkSize));
+            Utf8Writer writer = Utf8Writer.acquire();
+            try {
+                JsonWriter jsonWriter = gson.newJsonWriter(writer);
+                jsonWriter.beginArray();
+                for (Object object : chunk) {
+                    if (object == null) {
+                        jsonWriter.nullValue();
+                    } else {
+                        runtimeCodec(object).write(object, jsonWriter);
+                    }
+                }
+                jsonWriter.endArray();
+                return writer.toByteArray();
+            } catch (IOException e) {
+                throw new JsonIOException(e);
+            } finally {
+                writer.release();
+            }
+        }
+
+        /**
+         * 分块编码完成后在写出执行器上写出，再提交窗口外的下一个分块并等待下一个分块。
+         */
+        private void writeAfter(int index) {
+            chunks.get(index).whenCompleteAsync((bytes, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                    return;
+                }
+                chunks.set(index, null);
+                try {
+                    out.write(index == 0 ? '[' : ',');
+                    out.write(bytes, 1, bytes.length - 2);
+                    if (index + window < chunkCount) {
+                        submit(index + window);
+                    }
+                    if (index + 1 < chunkCount) {
+                        writeAfter(index + 1);
+                    } else {
+                        out.write(']');
+                        out.flush();
+                        result.complete(null);
+                    }
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            }, writeExecutor);
+        }
+    }
+
+    /**
+     * 逐个读取顶层JSON数组元素的迭代器
+     */
+    private static final class JsonArrayIterator<T> implements Iterator<T> {
+        private final JsonReader reader;
+        private final TypeAdapter<T> adapter;
+        private boolean started;
+        private boolean finished;
+
+        private JsonArrayIterator(JsonReader reader, TypeAdapter<T> adapter) {
+            this.reader = reader;
+            this.adapter = adapter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (finished) {
+                return false;
+            }
+            try {
+                if (!started) {
+                    reader.beginArray();
+                    started = true;
+                }
+                if (reader.hasNext()) {
+                    return true;
+                }
+                reader.endArray();
+                finished = true;
+                return false;
+            } catch (MalformedJsonException | EOFException | IllegalStateException e) {
+                throw new JsonSyntaxException(e);
+            } catch (IOException e) {
+                throw new JsonIOException(e);
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return adapter.read(reader);
+            } catch (MalformedJsonException | EOFException | IllegalStateException e) {
+                throw new JsonSyntaxException(e);
+            } catch (IOException e) {
+                throw new JsonIOException(e);
+            }
+        }
+
+        private void close() {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 按行切分NDJSON数据的Spliterator。
+     * <p>
+     * 数据来自文件时按窗口分段映射，超过2GB的文件也可以处理；来自缓冲区时直接按绝对位置读取。
+     * 切分时从区间中点向后找到换行符，保证每个区段都由完整的行组成。
+     */
+    private static final class NdjsonSpliterator<T> implements Spliterator<T> {
+        private final JsonCodec<T> codec;
+        private final FileChannel channel;
+        private ByteBuffer window;
+        private long windowStart;
+        private long position;
+        private final long end;
+        private byte[] line = new byte[256];
+
+        private NdjsonSpliterator(JsonCodec<T> codec, FileChannel channel, ByteBuffer buffer, long position, long end) {
+            this.codec = codec;
+            this.channel = channel;
+            this.window = buffer;
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (position < end) {
+                long lineEnd = indexOfNewline(position);
+                int length = Math.toIntExact(lineEnd - position);
+                readLine(position, length);
+                position = lineEnd + 1;
+                if (!isBlank(length)) {
+                    action.accept(codec.fromJson(new String(line, 0, length, StandardCharsets.UTF_8)));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            long size = end - position;
+            if (size < NDJSON_MIN_SPLIT_SIZE) {
+                return null;
+            }
+            long newline = indexOfNewline(position + size / 2);
+            if (newline >= end - 1) {
+                return null;
+            }
+            NdjsonSpliterator<T> prefix = new NdjsonSpliterator<>(codec, channel, channel == null ? window : null, position, newline + 1);
+            position = newline + 1;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            // 以剩余字节数作为估计值，使并行流按数据量均匀切分
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED;
+        }
+
+        /**
+         * 从指定位置查找换行符，找不到时返回区间末尾。
+         */
+        private long indexOfNewline(long from) {
+            long index = from;
+            while (index < end) {
+                mapWindow(index, 1);
+                int limit = (int) Math.min(window.limit(), end - windowStart);
+                for (int i = (int) (index - windowStart); i < limit; i++) {
+                    if (window.get(i) == '\n') {
+                        return windowStart + i;
+                    }
+                }
+                index = windowStart + limit;
+            }
+            return end;
+        }
+
+        private void readLine(long from, int length) {
+            if (line.length < length) {
+                line = new byte[Math.max(length, line.length * 2)];
+            }
+            mapWindow(from, length);
+            window.get((int) (from - windowStart), line, 0, length);
+        }
+
+        /**
+         * 确保窗口覆盖[from, from + length)，只有文件数据源需要重新映射。
+         */
+        private void mapWindow(long from, int length) {
+            if (channel == null) {
+                return;
+            }
+            if (window != null && from >= windowStart && from + length <= windowStart + window.limit()) {
+                return;
+            }
+            long size = Math.min(Math.max(NDJSON_WINDOW_SIZE, length), end - from);
+            try {
+                window = channel.map(FileChannel.MapMode.READ_ONLY, from, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            windowStart = from;
+        }
+
+        private boolean isBlank(int length) {
+            for (int i = 0; i < length; i++) {
+                byte b = line[i];
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
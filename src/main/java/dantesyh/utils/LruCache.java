@@ -0,0 +1,127 @@
+package dantesyh.utils;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程安全的定长近似LRU缓存，记录命中、未命中和淘汰次数。
+ * <p>
+ * 基于ConcurrentHashMap，读取不加锁，只记录条目的最近访问时间；写入超出容量时在写锁内淘汰最久未访问的条目。
+ * 并发访问下访问时间的记录是近似的，淘汰顺序不保证严格的LRU。
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @author dante
+ * @since 2026/10/18
+ */
+final class LruCache<K, V> {
+    private final int maxSize;
+    private final ConcurrentHashMap<K, Entry<V>> map;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 写入和淘汰使用的锁，读取不使用
+     */
+    private final Object writeLock = new Object();
+
+    LruCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid cache size: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.map = new ConcurrentHashMap<>(Math.max(16, maxSize * 4 / 3 + 1));
+    }
+
+    /**
+     * 获取缓存的值，并记录命中或未命中。
+     *
+     * @param key 键
+     * @return 缓存的值，不存在时返回null
+     */
+    V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        entry.touch();
+        return entry.value;
+    }
+
+    /**
+     * 放入缓存，超出容量时淘汰最久未访问的条目。
+     *
+     * @param key   键
+     * @param value 值
+     */
+    void put(K key, V value) {
+        synchronized (writeLock) {
+            map.put(key, new Entry<>(value));
+            while (map.size() > maxSize) {
+                evictEldest();
+            }
+        }
+    }
+
+    /**
+     * 清空缓存，统计数据保留。
+     */
+    void clear() {
+        synchronized (writeLock) {
+            map.clear();
+        }
+    }
+
+    /**
+     * 获取当前统计数据的快照。
+     *
+     * @return 统计数据
+     */
+    CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), map.size());
+    }
+
+    /**
+     * 扫描全部条目，淘汰最久未访问的一个，容量较小时扫描的开销低于维护访问顺序链表的锁竞争。
+     */
+    private void evictEldest() {
+        K eldestKey = null;
+        long eldestAccess = Long.MAX_VALUE;
+        for (Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<K, Entry<V>> e = it.next();
+            if (e.getValue().accessed < eldestAccess) {
+                eldestAccess = e.getValue().accessed;
+                eldestKey = e.getKey();
+            }
+        }
+        if (eldestKey != null && map.remove(eldestKey) != null) {
+            evictionCount.increment();
+        }
+    }
+
+    /**
+     * 缓存条目，值不可变，最近访问时间在读取时无锁更新
+     */
+    private static final class Entry<V> {
+        final V value;
+        volatile long accessed;
+
+        Entry(V value) {
+            this.value = value;
+            this.accessed = System.nanoTime();
+        }
+
+        void touch() {
+            long now = System.nanoTime();
+            // 访问时间变化很小时跳过写入，减少热点条目在多核间的缓存行争用
+            if (now - accessed > 1_000L) {
+                accessed = now;
+            }
+        }
+    }
+}
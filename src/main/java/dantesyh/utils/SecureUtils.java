@@ -3,8 +3,17 @@ package dantesyh.utils;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.KeyGenerator;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.security.*;
 import java.security.interfaces.RSAPrivateKey;
@@ -12,9 +21,24 @@ import java.security.interfaces.RSAPublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * 安全相关工具类
@@ -37,6 +61,11 @@ public class SecureUtils {
      */
     private static final String AES_PADDING = "AES/ECB/PKCS5Padding";
 
+    /**
+     * AES分组长度
+     */
+    private static final int AES_BLOCK_SIZE = 16;
+
     /**
      * RSA算法名称
      */
@@ -57,6 +86,11 @@ public class SecureUtils {
      */
     private static final int RSA_KEY_SIZE = 1024;
 
+    /**
+     * 批量签名和验签时启用并行计算的最小数量
+     */
+    private static final int BATCH_PARALLEL_THRESHOLD = 16;
+
     /**
      * 公钥的键名，用于从Map中检索RSA公钥
      */
@@ -67,6 +101,105 @@ public class SecureUtils {
      */
     public static final String PRIVATE_KEY = "RSAPrivateKey";
 
+    /**
+     * 静态AES方法缓存的密钥数量上限
+     */
+    private static final int AES_KEY_CACHE_SIZE = 64;
+
+    /**
+     * 静态AES方法使用的密钥缓存
+     */
+    private static final LruCache<String, AesKey> AES_KEY_CACHE = new LruCache<>(AES_KEY_CACHE_SIZE);
+
+    /**
+     * 从字符串恢复的RSA密钥的缓存数量上限
+     */
+    private static final int RSA_KEY_CACHE_SIZE = 128;
+
+    /**
+     * 从Base64字符串恢复的RSA公钥缓存
+     */
+    private static final LruCache<String, PublicKey> PUBLIC_KEY_CACHE = new LruCache<>(RSA_KEY_CACHE_SIZE);
+
+    /**
+     * 从Base64字符串恢复的RSA私钥缓存
+     */
+    private static final LruCache<String, PrivateKey> PRIVATE_KEY_CACHE = new LruCache<>(RSA_KEY_CACHE_SIZE);
+
+    /**
+     * 信封加密使用的数据密钥算法
+     */
+    private static final String ENVELOPE_PADDING = "AES/GCM/NoPadding";
+
+    /**
+     * 信封加密数据密钥的位数
+     */
+    private static final int ENVELOPE_KEY_SIZE = 256;
+
+    /**
+     * 信封格式版本号
+     */
+    private static final int ENVELOPE_VERSION = 1;
+
+    /**
+     * 信封加密的IV长度
+     */
+    private static final int ENVELOPE_IV_LENGTH = 12;
+
+    /**
+     * 信封加密的认证标签位数
+     */
+    private static final int ENVELOPE_TAG_BITS = 128;
+
+    /**
+     * 每个数据密钥默认最多加密的消息数量
+     */
+    private static final long ENVELOPE_MAX_MESSAGES = 100_000;
+
+    /**
+     * 每个数据密钥默认的最长使用时间
+     */
+    private static final Duration ENVELOPE_MAX_KEY_AGE = Duration.ofMinutes(10);
+
+    /**
+     * 信封解密器缓存的数据密钥数量上限
+     */
+    private static final int ENVELOPE_KEY_CACHE_SIZE = 64;
+
+    /**
+     * 脱敏时替换的字符串
+     */
+    private static final String MASK = "****";
+
+    /**
+     * 手机号脱敏引擎，连续7位以上的数字保留前3位和最后4位
+     */
+    private static final Masker PHONE_NUMBER_MASKER = new Masker.Builder().phoneNumbers(7, Integer.MAX_VALUE, 3, 4).build();
+
+    /**
+     * 默认脱敏引擎，处理11位手机号、15或18位身份证号和邮箱
+     */
+    private static final Masker DEFAULT_MASKER = new Masker.Builder()
+            .phoneNumbers(11, 11, 3, 4)
+            .idNumbers(6, 4)
+            .emails(1)
+            .build();
+
+    /**
+     * 按密钥位数启用的RSA密钥对池
+     */
+    private static final Map<Integer, KeyPairPool> KEY_PAIR_POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * 每个线程复用的RSA Cipher
+     */
+    private static final ThreadLocal<Cipher> RSA_CIPHER = new ThreadLocal<>();
+
+    /**
+     * 每个线程复用的RSA签名对象，批量签名和验签使用
+     */
+    private static final ThreadLocal<RsaSignature> RSA_SIGNATURE = new ThreadLocal<>();
+
 
     /**
      * 使用AES加密算法对明文进行加密。
@@ -81,13 +214,7 @@ public class SecureUtils {
      * @throws BadPaddingException       如果填充数据不合法
      */
     public static String encryptAES(String plainText, String secretKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        String secretKeyPadded = paddingKey(secretKey);
-        SecretKeySpec secretKeySpec = new SecretKeySpec(secretKeyPadded.getBytes(StandardCharsets.UTF_8), AES_ALGORITHM);
-        Cipher cipher = Cipher.getInstance(AES_PADDING);
-        cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec);
-
-        byte[] encryptedBytes = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
-        return Base64.getEncoder().encodeToString(encryptedBytes);
+        return aesKey(secretKey).encrypt(plainText);
     }
 
     /**
@@ -103,14 +230,142 @@ public class SecureUtils {
      * @throws BadPaddingException       如果填充数据不合法
      */
     public static String decryptAES(String encryptedText, String secretKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        String secretKeyPadded = paddingKey(secretKey);
-        SecretKeySpec secretKeySpec = new SecretKeySpec(secretKeyPadded.getBytes(StandardCharsets.UTF_8), AES_ALGORITHM);
-        Cipher cipher = Cipher.getInstance(AES_PADDING);
-        cipher.init(Cipher.DECRYPT_MODE, secretKeySpec);
+        return aesKey(secretKey).decrypt(encryptedText);
+    }
 
-        byte[] encryptedBytes = Base64.getDecoder().decode(encryptedText);
-        byte[] decryptedBytes = cipher.doFinal(encryptedBytes);
-        return new String(decryptedBytes, StandardCharsets.UTF_8);
+    /**
+     * 使用AES加密算法对字节数据进行加密，不经过字符串和Base64转换。
+     *
+     * @param plainBytes 要加密的明文字节
+     * @param secretKey  加密密钥
+     * @return 密文字节
+     * @throws NoSuchPaddingException    如果填充方案不可用
+     * @throws NoSuchAlgorithmException  如果加密算法不可用
+     * @throws InvalidKeyException       如果提供的密钥无效
+     * @throws IllegalBlockSizeException 如果加密数据块大小不合法
+     * @throws BadPaddingException       如果填充数据不合法
+     */
+    public static byte[] encryptAES(byte[] plainBytes, String secretKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        return aesKey(secretKey).encrypt(plainBytes);
+    }
+
+    /**
+     * 使用AES加密算法对字节密文进行解密，不经过字符串和Base64转换。
+     *
+     * @param encryptedBytes 要解密的密文字节
+     * @param secretKey      用于解密的密钥
+     * @return 明文字节
+     * @throws NoSuchPaddingException    如果填充方案不可用
+     * @throws NoSuchAlgorithmException  如果加密算法不可用
+     * @throws InvalidKeyException       如果提供的密钥无效
+     * @throws IllegalBlockSizeException 如果加密数据块大小不合法
+     * @throws BadPaddingException       如果填充数据不合法
+     */
+    public static byte[] decryptAES(byte[] encryptedBytes, String secretKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        return aesKey(secretKey).decrypt(encryptedBytes);
+    }
+
+    /**
+     * 从缓存中获取密钥字符串对应的AES密钥，不存在时创建并放入缓存。
+     *
+     * @param secretKey 密钥字符串
+     * @return AES密钥
+     * @throws NoSuchPaddingException   如果填充方案不可用
+     * @throws NoSuchAlgorithmException 如果加密算法不可用
+     * @throws InvalidKeyException      如果提供的密钥无效
+     */
+    private static AesKey aesKey(String secretKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException {
+        AesKey aesKey = AES_KEY_CACHE.get(secretKey);
+        if (aesKey == null) {
+            aesKey = AesKey.of(secretKey);
+            AES_KEY_CACHE.put(secretKey, aesKey);
+        }
+        return aesKey;
+    }
+
+    /**
+     * 使用AES/GCM分块加密输入流中的全部数据并写入输出流，内存占用与数据大小无关。
+     * 完成后刷新输出流，输入输出流均由调用方关闭。
+     *
+     * @param in     明文输入流
+     * @param out    密文输出流
+     * @param aesKey AES密钥
+     * @throws IOException              如果读写失败
+     * @throws NoSuchPaddingException   如果填充方案不可用
+     * @throws NoSuchAlgorithmException 如果加密算法不可用
+     */
+    public static void encryptAES(InputStream in, OutputStream out, AesKey aesKey) throws IOException, NoSuchPaddingException, NoSuchAlgorithmException {
+        AesGcmStreams.encrypt(in, out, aesKey.keySpec, AesGcmStreams.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 解密由{@link #encryptAES(InputStream, OutputStream, AesKey)}生成的密文并写入输出流，每个分块都会校验完整性。
+     * 输入输出流均由调用方关闭。
+     *
+     * @param in     密文输入流
+     * @param out    明文输出流
+     * @param aesKey AES密钥
+     * @throws IOException              如果读写失败、密文被截断、被篡改或最后一块之后还有数据
+     * @throws NoSuchPaddingException   如果填充方案不可用
+     * @throws NoSuchAlgorithmException 如果加密算法不可用
+     */
+    public static void decryptAES(InputStream in, OutputStream out, AesKey aesKey) throws IOException, NoSuchPaddingException, NoSuchAlgorithmException {
+        decryptAESStream(in, aesKey).transferTo(out);
+    }
+
+    /**
+     * 创建AES/GCM分块加密输出流，写入的明文加密后写入目标流，关闭时写出最后一个分块并关闭目标流。
+     *
+     * @param out    密文输出流
+     * @param aesKey AES密钥
+     * @return 加密输出流，必须关闭才能得到完整密文
+     * @throws IOException              如果写入头部失败
+     * @throws NoSuchPaddingException   如果填充方案不可用
+     * @throws NoSuchAlgorithmException 如果加密算法不可用
+     */
+    public static OutputStream encryptAESStream(OutputStream out, AesKey aesKey) throws IOException, NoSuchPaddingException, NoSuchAlgorithmException {
+        return AesGcmStreams.encryptingStream(out, aesKey.keySpec, AesGcmStreams.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 创建AES/GCM分块解密输入流，读取时逐块校验并解密。
+     *
+     * @param in     密文输入流
+     * @param aesKey AES密钥
+     * @return 解密输入流
+     * @throws NoSuchPaddingException   如果填充方案不可用
+     * @throws NoSuchAlgorithmException 如果加密算法不可用
+     */
+    public static InputStream decryptAESStream(InputStream in, AesKey aesKey) throws NoSuchPaddingException, NoSuchAlgorithmException {
+        return AesGcmStreams.decryptingStream(in, aesKey.keySpec);
+    }
+
+    /**
+     * 使用AES/GCM分块加密文件通道，从源通道当前位置读取到末尾，密文格式与流式加密相同。
+     *
+     * @param src    明文文件通道
+     * @param dst    密文文件通道
+     * @param aesKey AES密钥
+     * @throws IOException              如果读写失败
+     * @throws NoSuchPaddingException   如果填充方案不可用
+     * @throws NoSuchAlgorithmException 如果加密算法不可用
+     */
+    public static void encryptAES(FileChannel src, FileChannel dst, AesKey aesKey) throws IOException, NoSuchPaddingException, NoSuchAlgorithmException {
+        AesGcmStreams.encrypt(src, dst, aesKey.keySpec, AesGcmStreams.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 解密文件通道中的AES/GCM分块密文，每个分块都会校验完整性。
+     *
+     * @param src    密文文件通道
+     * @param dst    明文文件通道
+     * @param aesKey AES密钥
+     * @throws IOException              如果读写失败、密文被截断、被篡改或最后一块之后还有数据
+     * @throws NoSuchPaddingException   如果填充方案不可用
+     * @throws NoSuchAlgorithmException 如果加密算法不可用
+     */
+    public static void decryptAES(FileChannel src, FileChannel dst, AesKey aesKey) throws IOException, NoSuchPaddingException, NoSuchAlgorithmException {
+        AesGcmStreams.decrypt(src, dst, aesKey.keySpec);
     }
 
     /**
@@ -145,11 +400,64 @@ public class SecureUtils {
      * @throws NoSuchAlgorithmException 如果生成密钥对时发生算法不可用异常
      */
     public static KeyPair keyPair(int keySize) throws NoSuchAlgorithmException {
+        KeyPairPool pool = KEY_PAIR_POOLS.get(keySize);
+        if (pool != null) {
+            KeyPair keyPair = pool.take();
+            if (keyPair != null) {
+                return keyPair;
+            }
+        }
         KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(RSA_ALGORITHM);
         keyPairGenerator.initialize(keySize);
         return keyPairGenerator.generateKeyPair();
     }
 
+    /**
+     * 为指定位数启用RSA密钥对池。后台线程预先生成指定数量的密钥对，
+     * {@link #keyPair(int)}优先从池中取出，取出后异步补充；池为空时仍在调用线程同步生成。
+     * 重复调用会以新的容量替换原有的池。
+     *
+     * @param keySize  密钥对的位数
+     * @param poolSize 预先生成的密钥对数量
+     * @throws NoSuchAlgorithmException 如果生成密钥对时发生算法不可用异常
+     */
+    public static void enableKeyPairPool(int keySize, int poolSize) throws NoSuchAlgorithmException {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Invalid pool size: " + poolSize);
+        }
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(RSA_ALGORITHM);
+        keyPairGenerator.initialize(keySize);
+        KeyPairPool pool = new KeyPairPool(keySize, poolSize);
+        KeyPairPool previous = KEY_PAIR_POOLS.put(keySize, pool);
+        if (previous != null) {
+            previous.close();
+        }
+        pool.refill();
+    }
+
+    /**
+     * 停用指定位数的RSA密钥对池，丢弃已生成但未取出的密钥对。
+     *
+     * @param keySize 密钥对的位数
+     */
+    public static void disableKeyPairPool(int keySize) {
+        KeyPairPool pool = KEY_PAIR_POOLS.remove(keySize);
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * 获取指定位数的RSA密钥对池中当前可用的密钥对数量。
+     *
+     * @param keySize 密钥对的位数
+     * @return 可用的密钥对数量，未启用时返回0
+     */
+    public static int keyPairPoolAvailable(int keySize) {
+        KeyPairPool pool = KEY_PAIR_POOLS.get(keySize);
+        return pool == null ? 0 : pool.keyPairs.size();
+    }
+
     /**
      * 生成RSA密钥对并将公钥和私钥存储在一个Map中，使用默认的Map键。
      *
@@ -202,7 +510,7 @@ public class SecureUtils {
     }
 
     /**
-     * 从Base64编码的公钥字符串恢复RSA公钥。
+     * 从Base64编码的公钥字符串恢复RSA公钥，结果会被缓存，重复的密钥字符串不再重新解析。
      *
      * @param publicKey Base64编码的公钥字符串
      * @return 恢复的RSA公钥
@@ -210,14 +518,20 @@ public class SecureUtils {
      * @throws InvalidKeySpecException  如果提供的密钥规范无效
      */
     public static PublicKey getPublicKeyFromString(String publicKey) throws NoSuchAlgorithmException, InvalidKeySpecException {
+        PublicKey cached = PUBLIC_KEY_CACHE.get(publicKey);
+        if (cached != null) {
+            return cached;
+        }
         byte[] publicKeyBytes = Base64.getDecoder().decode(publicKey);
         X509EncodedKeySpec keySpec = new X509EncodedKeySpec(publicKeyBytes);
         KeyFactory keyFactory = KeyFactory.getInstance(RSA_ALGORITHM);
-        return keyFactory.generatePublic(keySpec);
+        PublicKey key = keyFactory.generatePublic(keySpec);
+        PUBLIC_KEY_CACHE.put(publicKey, key);
+        return key;
     }
 
     /**
-     * 从Base64编码的私钥字符串恢复RSA私钥。
+     * 从Base64编码的私钥字符串恢复RSA私钥，结果会被缓存，重复的密钥字符串不再重新解析。
      *
      * @param privateKey Base64编码的私钥字符串
      * @return 恢复的RSA私钥
@@ -225,10 +539,42 @@ public class SecureUtils {
      * @throws NoSuchAlgorithmException 如果生成密钥时发生算法不可用异常
      */
     public static PrivateKey getPrivateKeyFromString(String privateKey) throws InvalidKeySpecException, NoSuchAlgorithmException {
+        PrivateKey cached = PRIVATE_KEY_CACHE.get(privateKey);
+        if (cached != null) {
+            return cached;
+        }
         byte[] privateKeyBytes = Base64.getDecoder().decode(privateKey);
         PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(privateKeyBytes);
         KeyFactory keyFactory = KeyFactory.getInstance(RSA_ALGORITHM);
-        return keyFactory.generatePrivate(keySpec);
+        PrivateKey key = keyFactory.generatePrivate(keySpec);
+        PRIVATE_KEY_CACHE.put(privateKey, key);
+        return key;
+    }
+
+    /**
+     * 获取从Base64字符串恢复的RSA公钥缓存的统计数据。
+     *
+     * @return 公钥缓存统计数据
+     */
+    public static CacheStats publicKeyCacheStats() {
+        return PUBLIC_KEY_CACHE.stats();
+    }
+
+    /**
+     * 获取从Base64字符串恢复的RSA私钥缓存的统计数据。
+     *
+     * @return 私钥缓存统计数据
+     */
+    public static CacheStats privateKeyCacheStats() {
+        return PRIVATE_KEY_CACHE.stats();
+    }
+
+    /**
+     * 清空RSA公钥和私钥缓存，例如在密钥轮换后释放旧密钥。
+     */
+    public static void clearKeyCache() {
+        PUBLIC_KEY_CACHE.clear();
+        PRIVATE_KEY_CACHE.clear();
     }
 
 
@@ -245,10 +591,7 @@ public class SecureUtils {
      * @throws BadPaddingException       如果填充数据不合法
      */
     public static String encryptRSA(String plainText, PublicKey publicKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        Cipher cipher = Cipher.getInstance(RSA_PADDING);
-        cipher.init(Cipher.ENCRYPT_MODE, publicKey);
-
-        byte[] encryptedBytes = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+        byte[] encryptedBytes = encryptRSA(plainText.getBytes(StandardCharsets.UTF_8), publicKey);
         return Base64.getEncoder().encodeToString(encryptedBytes);
     }
 
@@ -282,11 +625,8 @@ public class SecureUtils {
      * @throws BadPaddingException       如果填充数据不合法
      */
     public static String decryptRSA(String encryptedText, PrivateKey privateKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        Cipher cipher = Cipher.getInstance(RSA_PADDING);
-        cipher.init(Cipher.DECRYPT_MODE, privateKey);
-
         byte[] encryptedBytes = Base64.getDecoder().decode(encryptedText);
-        byte[] decryptedBytes = cipher.doFinal(encryptedBytes);
+        byte[] decryptedBytes = decryptRSA(encryptedBytes, privateKey);
         return new String(decryptedBytes, StandardCharsets.UTF_8);
     }
 
@@ -307,6 +647,87 @@ public class SecureUtils {
         return decryptRSA(plainText, getPrivateKeyFromString(privateKey));
     }
 
+    /**
+     * 使用RSA公钥对字节数据进行加密，不经过字符串和Base64转换。
+     *
+     * @param plainBytes 要加密的明文字节
+     * @param publicKey  RSA公钥
+     * @return 密文字节
+     * @throws NoSuchPaddingException    如果填充方案不可用
+     * @throws NoSuchAlgorithmException  如果加密算法不可用
+     * @throws InvalidKeyException       如果提供的公钥无效
+     * @throws IllegalBlockSizeException 如果加密数据块大小不合法
+     * @throws BadPaddingException       如果填充数据不合法
+     */
+    public static byte[] encryptRSA(byte[] plainBytes, PublicKey publicKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        return rsaCipher(Cipher.ENCRYPT_MODE, publicKey).doFinal(plainBytes);
+    }
+
+    /**
+     * 使用RSA公钥加密缓冲区中剩余的数据，密文写入调用方提供的缓冲区，支持直接缓冲区。
+     *
+     * @param input     明文缓冲区，读取position到limit之间的数据
+     * @param output    密文缓冲区，从position开始写入
+     * @param publicKey RSA公钥
+     * @return 写入的密文字节数
+     * @throws NoSuchPaddingException    如果填充方案不可用
+     * @throws NoSuchAlgorithmException  如果加密算法不可用
+     * @throws InvalidKeyException       如果提供的公钥无效
+     * @throws ShortBufferException      如果密文缓冲区剩余空间不足
+     * @throws IllegalBlockSizeException 如果加密数据块大小不合法
+     * @throws BadPaddingException       如果填充数据不合法
+     */
+    public static int encryptRSA(ByteBuffer input, ByteBuffer output, PublicKey publicKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, ShortBufferException, IllegalBlockSizeException, BadPaddingException {
+        return rsaCipher(Cipher.ENCRYPT_MODE, publicKey).doFinal(input, output);
+    }
+
+    /**
+     * 使用RSA私钥对字节密文进行解密，不经过字符串和Base64转换。
+     *
+     * @param encryptedBytes 要解密的密文字节
+     * @param privateKey     RSA私钥
+     * @return 明文字节
+     * @throws NoSuchPaddingException    如果填充方案不可用
+     * @throws NoSuchAlgorithmException  如果加密算法不可用
+     * @throws InvalidKeyException       如果提供的私钥无效
+     * @throws IllegalBlockSizeException 如果解密数据块大小不合法
+     * @throws BadPaddingException       如果填充数据不合法
+     */
+    public static byte[] decryptRSA(byte[] encryptedBytes, PrivateKey privateKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        return rsaCipher(Cipher.DECRYPT_MODE, privateKey).doFinal(encryptedBytes);
+    }
+
+    /**
+     * 使用RSA私钥解密缓冲区中剩余的数据，明文写入调用方提供的缓冲区，支持直接缓冲区。
+     *
+     * @param input      密文缓冲区，读取position到limit之间的数据
+     * @param output     明文缓冲区，从position开始写入
+     * @param privateKey RSA私钥
+     * @return 写入的明文字节数
+     * @throws NoSuchPaddingException    如果填充方案不可用
+     * @throws NoSuchAlgorithmException  如果加密算法不可用
+     * @throws InvalidKeyException       如果提供的私钥无效
+     * @throws ShortBufferException      如果明文缓冲区剩余空间不足
+     * @throws IllegalBlockSizeException 如果解密数据块大小不合法
+     * @throws BadPaddingException       如果填充数据不合法
+     */
+    public static int decryptRSA(ByteBuffer input, ByteBuffer output, PrivateKey privateKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, ShortBufferException, IllegalBlockSizeException, BadPaddingException {
+        return rsaCipher(Cipher.DECRYPT_MODE, privateKey).doFinal(input, output);
+    }
+
+    /**
+     * 获取当前线程复用的RSA Cipher并使用指定密钥初始化，避免每次调用都查找加密提供者。
+     */
+    private static Cipher rsaCipher(int mode, Key key) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException {
+        Cipher cipher = RSA_CIPHER.get();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(RSA_PADDING);
+            RSA_CIPHER.set(cipher);
+        }
+        cipher.init(mode, key);
+        return cipher;
+    }
+
     /**
      * 使用RSA私钥对数据进行数字签名。
      *
@@ -374,6 +795,225 @@ public class SecureUtils {
     }
 
 
+    /**
+     * 使用RSA私钥批量对数据进行数字签名，多个CPU核心并行计算，每个线程只初始化一次签名对象。
+     *
+     * @param dataList   要签名的数据的字节数组列表
+     * @param privateKey RSA私钥
+     * @return 与输入顺序一致的Base64编码的数字签名列表
+     * @throws NoSuchAlgorithmException 如果生成签名时发生算法不可用异常
+     * @throws InvalidKeyException      如果提供的私钥无效
+     * @throws SignatureException       如果生成签名时发生签名异常
+     */
+    public static List<String> signRSA(List<byte[]> dataList, PrivateKey privateKey) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        // 在当前线程先初始化一次，使算法或密钥错误直接抛出
+        RsaSignature.get(privateKey);
+        String[] result = new String[dataList.size()];
+        runBatch(result.length, i -> {
+            RsaSignature holder = RsaSignature.getUnchecked(privateKey);
+            try {
+                holder.signature.update(dataList.get(i));
+                result[i] = Base64.getEncoder().encodeToString(holder.signature.sign());
+            } catch (SignatureException e) {
+                holder.invalidate();
+                throw e;
+            }
+        });
+        return Arrays.asList(result);
+    }
+
+    /**
+     * 使用RSA私钥批量对数据流中的数据进行数字签名。
+     *
+     * @param dataStream 要签名的数据的字节数组流
+     * @param privateKey RSA私钥
+     * @return 与输入顺序一致的Base64编码的数字签名列表
+     * @throws NoSuchAlgorithmException 如果生成签名时发生算法不可用异常
+     * @throws InvalidKeyException      如果提供的私钥无效
+     * @throws SignatureException       如果生成签名时发生签名异常
+     */
+    public static List<String> signRSA(Stream<byte[]> dataStream, PrivateKey privateKey) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        return signRSA(dataStream.toList(), privateKey);
+    }
+
+    /**
+     * 批量验证RSA数字签名，多个CPU核心并行计算，每个线程只初始化一次签名对象。
+     * 格式错误的签名视为验证失败，不会中断整个批次。
+     *
+     * @param dataList  要验证签名的数据的字节数组列表
+     * @param publicKey RSA公钥
+     * @param signs     与数据一一对应的Base64编码的数字签名列表
+     * @return 与输入顺序一致的验证结果
+     * @throws NoSuchAlgorithmException 如果验证签名时发生算法不可用异常
+     * @throws InvalidKeyException      如果提供的公钥无效
+     */
+    public static boolean[] verifyRSA(List<byte[]> dataList, PublicKey publicKey, List<String> signs) throws NoSuchAlgorithmException, InvalidKeyException {
+        if (dataList.size() != signs.size()) {
+            throw new IllegalArgumentException("Data and signature counts differ: " + dataList.size() + " != " + signs.size());
+        }
+        RsaSignature.get(publicKey);
+        boolean[] result = new boolean[dataList.size()];
+        try {
+            runBatch(result.length, i -> {
+                RsaSignature holder = RsaSignature.getUnchecked(publicKey);
+                try {
+                    byte[] sign = Base64.getDecoder().decode(signs.get(i));
+                    holder.signature.update(dataList.get(i));
+                    result[i] = holder.signature.verify(sign);
+                } catch (SignatureException | IllegalArgumentException e) {
+                    // 签名对象可能处于异常状态，下次使用时重新初始化
+                    holder.invalidate();
+                    result[i] = false;
+                }
+            });
+        } catch (SignatureException e) {
+            throw new IllegalStateException(e);
+        }
+        return result;
+    }
+
+    /**
+     * 批量验证数据流中的RSA数字签名，规则同{@link #verifyRSA(List, PublicKey, List)}。
+     *
+     * @param dataStream 要验证签名的数据的字节数组流
+     * @param publicKey  RSA公钥
+     * @param signs      与数据一一对应的Base64编码的数字签名流
+     * @return 与输入顺序一致的验证结果
+     * @throws NoSuchAlgorithmException 如果验证签名时发生算法不可用异常
+     * @throws InvalidKeyException      如果提供的公钥无效
+     */
+    public static boolean[] verifyRSA(Stream<byte[]> dataStream, PublicKey publicKey, Stream<String> signs) throws NoSuchAlgorithmException, InvalidKeyException {
+        return verifyRSA(dataStream.toList(), publicKey, signs.toList());
+    }
+
+    /**
+     * 线程复用的签名对象及其当前初始化使用的密钥，密钥变化时才重新初始化
+     */
+    private static final class RsaSignature {
+        private final Signature signature;
+        private Key key;
+
+        private RsaSignature(Signature signature) {
+            this.signature = signature;
+        }
+
+        /**
+         * 获取当前线程的签名对象，并确保已使用指定的私钥或公钥初始化。
+         */
+        static RsaSignature get(Key key) throws NoSuchAlgorithmException, InvalidKeyException {
+            RsaSignature holder = RSA_SIGNATURE.get();
+            if (holder == null) {
+                holder = new RsaSignature(Signature.getInstance(RSA_SIGNATURE_ALGORITHM));
+                RSA_SIGNATURE.set(holder);
+            }
+            if (holder.key != key) {
+                holder.key = null;
+                if (key instanceof PrivateKey privateKey) {
+                    holder.signature.initSign(privateKey);
+                } else {
+                    holder.signature.initVerify((PublicKey) key);
+                }
+                holder.key = key;
+            }
+            return holder;
+        }
+
+        /**
+         * 在批量任务的工作线程中获取签名对象，密钥已在调用线程验证过。
+         */
+        static RsaSignature getUnchecked(Key key) {
+            try {
+                return get(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * 签名对象出错后可能处于异常状态，下次使用时重新初始化。
+         */
+        void invalidate() {
+            key = null;
+        }
+    }
+
+    /**
+     * 批量任务中的单个元素处理
+     */
+    @FunctionalInterface
+    private interface BatchTask {
+        void run(int index) throws SignatureException;
+    }
+
+    /**
+     * 执行批量任务，数量超过阈值时使用ForkJoin公共线程池并行执行。
+     */
+    private static void runBatch(int size, BatchTask task) throws SignatureException {
+        IntStream indexes = IntStream.range(0, size);
+        if (size >= BATCH_PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        try {
+            indexes.forEach(i -> {
+                try {
+                    task.run(i);
+                } catch (SignatureException e) {
+                    throw new UncheckedSignatureException(e);
+                }
+            });
+        } catch (UncheckedSignatureException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class UncheckedSignatureException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private UncheckedSignatureException(SignatureException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SignatureException getCause() {
+            return (SignatureException) super.getCause();
+        }
+    }
+
+    /**
+     * 创建信封加密器，使用默认的数据密钥轮换策略。
+     *
+     * @param publicKey 接收方的RSA公钥，用于包装数据密钥
+     * @return 信封加密器
+     * @throws NoSuchAlgorithmException 如果加密算法不可用
+     */
+    public static EnvelopeEncryptor envelopeEncryptor(PublicKey publicKey) throws NoSuchAlgorithmException {
+        return envelopeEncryptor(publicKey, ENVELOPE_MAX_MESSAGES, ENVELOPE_MAX_KEY_AGE);
+    }
+
+    /**
+     * 创建信封加密器。数据密钥在加密指定数量的消息或超过指定时长后更换，
+     * 同一个数据密钥只需要一次RSA包装运算。
+     *
+     * @param publicKey         接收方的RSA公钥，用于包装数据密钥
+     * @param maxMessagesPerKey 每个数据密钥最多加密的消息数量
+     * @param maxKeyAge         每个数据密钥的最长使用时间
+     * @return 信封加密器
+     * @throws NoSuchAlgorithmException 如果加密算法不可用
+     */
+    public static EnvelopeEncryptor envelopeEncryptor(PublicKey publicKey, long maxMessagesPerKey, Duration maxKeyAge) throws NoSuchAlgorithmException {
+        return new EnvelopeEncryptor(publicKey, maxMessagesPerKey, maxKeyAge);
+    }
+
+    /**
+     * 创建信封解密器，已解包的数据密钥会被缓存，同一个数据密钥只需要一次RSA解包运算。
+     *
+     * @param privateKey 接收方的RSA私钥
+     * @return 信封解密器
+     */
+    public static EnvelopeDecryptor envelopeDecryptor(PrivateKey privateKey) {
+        return new EnvelopeDecryptor(privateKey);
+    }
+
     /**
      * 手机号脱敏
      *
@@ -383,7 +1023,7 @@ public class SecureUtils {
     public static String maskPhoneNumber(String phoneNumber) {
         // 保留前3位和最后4位数字，中间使用星号替代
         if (phoneNumber != null) {
-            return phoneNumber.replaceAll("(\\d{3})\\d*(\\d{4})", "$1****$2");
+            return PHONE_NUMBER_MASKER.mask(phoneNumber);
         }
         return null;
     }
@@ -397,17 +1037,742 @@ public class SecureUtils {
     public static String maskEmail(String email) {
         // 保留邮箱用户名的第一个字符，中间使用星号替代
         if (email != null) {
-            String[] parts = email.split("@");
-            if (parts.length == 2) {
-                String username = parts[0];
-                String domain = parts[1];
-                if (username.length() > 1) {
-                    username = username.charAt(0) + "****";
-                }
-                return username + "@" + domain;
+            int at = email.indexOf('@');
+            if (at < 0 || at != email.lastIndexOf('@') || at == email.length() - 1) {
+                return email;
+            }
+            if (at > 1) {
+                return email.charAt(0) + MASK + email.substring(at);
             }
             return email;
         }
         return null;
     }
+
+    /**
+     * 使用默认规则对文本中所有的手机号、身份证号和邮箱进行脱敏，适用于日志等整段文本。
+     *
+     * @param text 要脱敏的文本
+     * @return 脱敏后的文本
+     */
+    public static String maskAll(CharSequence text) {
+        if (text != null) {
+            return DEFAULT_MASKER.mask(text);
+        }
+        return null;
+    }
+
+    /**
+     * 创建脱敏引擎构建器。
+     *
+     * @return 脱敏引擎构建器
+     */
+    public static Masker.Builder maskerBuilder() {
+        return new Masker.Builder();
+    }
+
+    /**
+     * 预先解析的AES密钥。
+     * <p>
+     * 密钥只解析一次，每个线程持有各自已初始化的{@link Cipher}，可在多线程间共享同一个实例重复加解密。
+     */
+    public static final class AesKey {
+        private final SecretKeySpec keySpec;
+        private final ThreadLocal<Cipher> encryptCipher;
+        private final ThreadLocal<Cipher> decryptCipher;
+
+        private AesKey(SecretKeySpec keySpec) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException {
+            this.keySpec = keySpec;
+            // 提前创建当前线程的Cipher，使算法或密钥错误在构造时抛出
+            Cipher encrypt = newCipher(Cipher.ENCRYPT_MODE);
+            Cipher decrypt = newCipher(Cipher.DECRYPT_MODE);
+            this.encryptCipher = ThreadLocal.withInitial(() -> initCipher(Cipher.ENCRYPT_MODE));
+            this.decryptCipher = ThreadLocal.withInitial(() -> initCipher(Cipher.DECRYPT_MODE));
+            this.encryptCipher.set(encrypt);
+            this.decryptCipher.set(decrypt);
+        }
+
+        /**
+         * 根据密钥字符串创建AES密钥，密钥长度不足16个字符时使用零填充。
+         *
+         * @param secretKey 密钥字符串
+         * @return AES密钥
+         * @throws NoSuchPaddingException   如果填充方案不可用
+         * @throws NoSuchAlgorithmException 如果加密算法不可用
+         * @throws InvalidKeyException      如果提供的密钥无效
+         */
+        public static AesKey of(String secretKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException {
+            return of(paddingKey(secretKey).getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * 根据原始密钥字节创建AES密钥。
+         *
+         * @param secretKey 密钥字节，长度必须为16、24或32
+         * @return AES密钥
+         * @throws NoSuchPaddingException   如果填充方案不可用
+         * @throws NoSuchAlgorithmException 如果加密算法不可用
+         * @throws InvalidKeyException      如果提供的密钥无效
+         */
+        public static AesKey of(byte[] secretKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException {
+            return new AesKey(new SecretKeySpec(secretKey, AES_ALGORITHM));
+        }
+
+        /**
+         * 使用当前密钥对明文进行加密。
+         *
+         * @param plainText 要加密的明文
+         * @return 经过AES加密后的Base64编码的密文
+         * @throws IllegalBlockSizeException 如果加密数据块大小不合法
+         * @throws BadPaddingException       如果填充数据不合法
+         */
+        public String encrypt(String plainText) throws IllegalBlockSizeException, BadPaddingException {
+            byte[] encryptedBytes = encrypt(plainText.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(encryptedBytes);
+        }
+
+        /**
+         * 使用当前密钥对密文进行解密。
+         *
+         * @param encryptedText 要解密的AES加密文本
+         * @return 解密后的原始文本
+         * @throws IllegalBlockSizeException 如果加密数据块大小不合法
+         * @throws BadPaddingException       如果填充数据不合法
+         */
+        public String decrypt(String encryptedText) throws IllegalBlockSizeException, BadPaddingException {
+            byte[] encryptedBytes = Base64.getDecoder().decode(encryptedText);
+            byte[] decryptedBytes = decrypt(encryptedBytes);
+            return new String(decryptedBytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * 使用当前密钥对字节数据进行加密。
+         *
+         * @param plainBytes 要加密的明文字节
+         * @return 密文字节
+         * @throws IllegalBlockSizeException 如果加密数据块大小不合法
+         * @throws BadPaddingException       如果填充数据不合法
+         */
+        public byte[] encrypt(byte[] plainBytes) throws IllegalBlockSizeException, BadPaddingException {
+            return encryptCipher.get().doFinal(plainBytes);
+        }
+
+        /**
+         * 使用当前密钥对字节密文进行解密。
+         *
+         * @param encryptedBytes 要解密的密文字节
+         * @return 明文字节
+         * @throws IllegalBlockSizeException 如果加密数据块大小不合法
+         * @throws BadPaddingException       如果填充数据不合法
+         */
+        public byte[] decrypt(byte[] encryptedBytes) throws IllegalBlockSizeException, BadPaddingException {
+            return decryptCipher.get().doFinal(encryptedBytes);
+        }
+
+        /**
+         * 加密数组中的数据并写入调用方提供的数组，输入和输出可以是同一个数组（原地加密）。
+         *
+         * @param input        明文数组
+         * @param inputOffset  明文起始位置
+         * @param inputLength  明文长度
+         * @param output       密文数组，剩余空间至少为{@link #encryptedLength(int)}
+         * @param outputOffset 密文写入位置
+         * @return 写入的密文字节数
+         * @throws ShortBufferException      如果密文数组空间不足
+         * @throws IllegalBlockSizeException 如果加密数据块大小不合法
+         * @throws BadPaddingException       如果填充数据不合法
+         */
+        public int encrypt(byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset) throws ShortBufferException, IllegalBlockSizeException, BadPaddingException {
+            return encryptCipher.get().doFinal(input, inputOffset, inputLength, output, outputOffset);
+        }
+
+        /**
+         * 解密数组中的密文并写入调用方提供的数组，输入和输出可以是同一个数组（原地解密）。
+         *
+         * @param input        密文数组
+         * @param inputOffset  密文起始位置
+         * @param inputLength  密文长度
+         * @param output       明文数组
+         * @param outputOffset 明文写入位置
+         * @return 写入的明文字节数
+         * @throws ShortBufferException      如果明文数组空间不足
+         * @throws IllegalBlockSizeException 如果加密数据块大小不合法
+         * @throws BadPaddingException       如果填充数据不合法
+         */
+        public int decrypt(byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset) throws ShortBufferException, IllegalBlockSizeException, BadPaddingException {
+            return decryptCipher.get().doFinal(input, inputOffset, inputLength, output, outputOffset);
+        }
+
+        /**
+         * 加密缓冲区中剩余的数据并写入调用方提供的缓冲区，支持直接缓冲区。
+         *
+         * @param input  明文缓冲区，读取position到limit之间的数据
+         * @param output 密文缓冲区，从position开始写入
+         * @return 写入的密文字节数
+         * @throws ShortBufferException      如果密文缓冲区剩余空间不足
+         * @throws IllegalBlockSizeException 如果加密数据块大小不合法
+         * @throws BadPaddingException       如果填充数据不合法
+         */
+        public int encrypt(ByteBuffer input, ByteBuffer output) throws ShortBufferException, IllegalBlockSizeException, BadPaddingException {
+            return encryptCipher.get().doFinal(input, output);
+        }
+
+        /**
+         * 解密缓冲区中剩余的密文并写入调用方提供的缓冲区，支持直接缓冲区。
+         *
+         * @param input  密文缓冲区，读取position到limit之间的数据
+         * @param output 明文缓冲区，从position开始写入
+         * @return 写入的明文字节数
+         * @throws ShortBufferException      如果明文缓冲区剩余空间不足
+         * @throws IllegalBlockSizeException 如果加密数据块大小不合法
+         * @throws BadPaddingException       如果填充数据不合法
+         */
+        public int decrypt(ByteBuffer input, ByteBuffer output) throws ShortBufferException, IllegalBlockSizeException, BadPaddingException {
+            return decryptCipher.get().doFinal(input, output);
+        }
+
+        /**
+         * 计算指定长度的明文加密后的密文长度，用于预先分配输出缓冲区。
+         *
+         * @param plainLength 明文长度
+         * @return 密文长度
+         */
+        public static int encryptedLength(int plainLength) {
+            return (plainLength / AES_BLOCK_SIZE + 1) * AES_BLOCK_SIZE;
+        }
+
+        private Cipher newCipher(int mode) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException {
+            Cipher cipher = Cipher.getInstance(AES_PADDING);
+            cipher.init(mode, keySpec);
+            return cipher;
+        }
+
+        private Cipher initCipher(int mode) {
+            try {
+                return newCipher(mode);
+            } catch (GeneralSecurityException e) {
+                // 构造时已在当前JVM中校验过算法和密钥
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * 信封加密器，使用随机生成的AES数据密钥(AES/GCM)加密消息，数据密钥由接收方RSA公钥包装后附在密文中。
+     * <p>
+     * 信封格式：版本号(1字节) + 包装密钥长度(2字节) + 包装后的数据密钥 + IV(12字节) + 密文及认证标签。
+     * 实例是线程安全的。
+     */
+    public static final class EnvelopeEncryptor {
+        private final PublicKey publicKey;
+        private final long maxMessagesPerKey;
+        private final long maxKeyAgeNanos;
+        private final KeyGenerator keyGenerator;
+        private final SecureRandom random = new SecureRandom();
+        private final ThreadLocal<Cipher> ciphers = new ThreadLocal<>();
+        private volatile DataKey dataKey;
+
+        private EnvelopeEncryptor(PublicKey publicKey, long maxMessagesPerKey, Duration maxKeyAge) throws NoSuchAlgorithmException {
+            if (maxMessagesPerKey <= 0) {
+                throw new IllegalArgumentException("Invalid max messages per key: " + maxMessagesPerKey);
+            }
+            this.publicKey = publicKey;
+            this.maxMessagesPerKey = maxMessagesPerKey;
+            this.maxKeyAgeNanos = maxKeyAge.toNanos();
+            this.keyGenerator = KeyGenerator.getInstance(AES_ALGORITHM);
+            this.keyGenerator.init(ENVELOPE_KEY_SIZE, random);
+        }
+
+        /**
+         * 加密字节数据。
+         *
+         * @param plainBytes 要加密的明文字节
+         * @return 信封格式的密文
+         * @throws GeneralSecurityException 如果加密或包装数据密钥失败
+         */
+        public byte[] encrypt(byte[] plainBytes) throws GeneralSecurityException {
+            DataKey key = currentKey();
+            byte[] iv = new byte[ENVELOPE_IV_LENGTH];
+            random.nextBytes(iv);
+
+            Cipher cipher = ciphers.get();
+            if (cipher == null) {
+                cipher = Cipher.getInstance(ENVELOPE_PADDING);
+                ciphers.set(cipher);
+            }
+            cipher.init(Cipher.ENCRYPT_MODE, key.secretKey, new GCMParameterSpec(ENVELOPE_TAG_BITS, iv));
+
+            byte[] wrapped = key.wrappedKey;
+            int headerLength = 1 + 2 + wrapped.length + ENVELOPE_IV_LENGTH;
+            byte[] envelope = new byte[headerLength + cipher.getOutputSize(plainBytes.length)];
+            envelope[0] = ENVELOPE_VERSION;
+            envelope[1] = (byte) (wrapped.length >>> 8);
+            envelope[2] = (byte) wrapped.length;
+            System.arraycopy(wrapped, 0, envelope, 3, wrapped.length);
+            System.arraycopy(iv, 0, envelope, 3 + wrapped.length, ENVELOPE_IV_LENGTH);
+            cipher.doFinal(plainBytes, 0, plainBytes.length, envelope, headerLength);
+            return envelope;
+        }
+
+        /**
+         * 加密字符串。
+         *
+         * @param plainText 要加密的明文
+         * @return Base64编码的信封格式密文
+         * @throws GeneralSecurityException 如果加密或包装数据密钥失败
+         */
+        public String encrypt(String plainText) throws GeneralSecurityException {
+            return Base64.getEncoder().encodeToString(encrypt(plainText.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        /**
+         * 获取可用的数据密钥，达到使用次数或时长上限时生成新密钥并用RSA公钥包装。
+         */
+        private DataKey currentKey() throws GeneralSecurityException {
+            DataKey key = dataKey;
+            if (key != null && key.tryAcquire(maxMessagesPerKey)) {
+                return key;
+            }
+            synchronized (this) {
+                key = dataKey;
+                if (key != null && key.tryAcquire(maxMessagesPerKey)) {
+                    return key;
+                }
+                SecretKey secretKey = keyGenerator.generateKey();
+                byte[] wrappedKey = rsaCipher(Cipher.WRAP_MODE, publicKey).wrap(secretKey);
+                key = new DataKey(secretKey, wrappedKey, System.nanoTime() + maxKeyAgeNanos);
+                key.tryAcquire(maxMessagesPerKey);
+                dataKey = key;
+                return key;
+            }
+        }
+    }
+
+    /**
+     * 信封解密器，解密{@link EnvelopeEncryptor}生成的密文。实例是线程安全的。
+     */
+    public static final class EnvelopeDecryptor {
+        private final PrivateKey privateKey;
+        private final LruCache<ByteBuffer, SecretKey> keyCache = new LruCache<>(ENVELOPE_KEY_CACHE_SIZE);
+        private final ThreadLocal<Cipher> ciphers = new ThreadLocal<>();
+
+        private EnvelopeDecryptor(PrivateKey privateKey) {
+            this.privateKey = privateKey;
+        }
+
+        /**
+         * 解密信封格式的字节密文。
+         *
+         * @param envelope 信封格式的密文
+         * @return 明文字节
+         * @throws GeneralSecurityException 如果格式无效、解包数据密钥失败或密文被篡改
+         */
+        public byte[] decrypt(byte[] envelope) throws GeneralSecurityException {
+            if (envelope.length < 3 || envelope[0] != ENVELOPE_VERSION) {
+                throw new GeneralSecurityException("Invalid envelope header");
+            }
+            int wrappedLength = ((envelope[1] & 0xFF) << 8) | (envelope[2] & 0xFF);
+            int headerLength = 1 + 2 + wrappedLength + ENVELOPE_IV_LENGTH;
+            if (envelope.length < headerLength + ENVELOPE_TAG_BITS / 8) {
+                throw new GeneralSecurityException("Envelope is truncated");
+            }
+
+            ByteBuffer wrappedKey = ByteBuffer.wrap(envelope, 3, wrappedLength).slice();
+            SecretKey secretKey = keyCache.get(wrappedKey);
+            if (secretKey == null) {
+                byte[] wrapped = Arrays.copyOfRange(envelope, 3, 3 + wrappedLength);
+                secretKey = (SecretKey) rsaCipher(Cipher.UNWRAP_MODE, privateKey).unwrap(wrapped, AES_ALGORITHM, Cipher.SECRET_KEY);
+                keyCache.put(ByteBuffer.wrap(wrapped), secretKey);
+            }
+
+            Cipher cipher = ciphers.get();
+            if (cipher == null) {
+                cipher = Cipher.getInstance(ENVELOPE_PADDING);
+                ciphers.set(cipher);
+            }
+            cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(ENVELOPE_TAG_BITS, envelope, 3 + wrappedLength, ENVELOPE_IV_LENGTH));
+            return cipher.doFinal(envelope, headerLength, envelope.length - headerLength);
+        }
+
+        /**
+         * 解密Base64编码的信封格式密文。
+         *
+         * @param envelope Base64编码的信封格式密文
+         * @return 解密后的原始文本
+         * @throws GeneralSecurityException 如果格式无效、解包数据密钥失败或密文被篡改
+         */
+        public String decrypt(String envelope) throws GeneralSecurityException {
+            return new String(decrypt(Base64.getDecoder().decode(envelope)), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 信封加密的数据密钥及其包装结果和使用限额
+     */
+    private static final class DataKey {
+        private final SecretKey secretKey;
+        private final byte[] wrappedKey;
+        private final long expiresAt;
+        private final AtomicLong used = new AtomicLong();
+
+        private DataKey(SecretKey secretKey, byte[] wrappedKey, long expiresAt) {
+            this.secretKey = secretKey;
+            this.wrappedKey = wrappedKey;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean tryAcquire(long maxMessages) {
+            return System.nanoTime() - expiresAt < 0 && used.incrementAndGet() <= maxMessages;
+        }
+    }
+
+    /**
+     * 基于字符扫描的脱敏引擎，不使用正则表达式，不产生中间字符串。
+     * <p>
+     * 连续数字按长度匹配身份证号（15位数字，或17位数字加校验位X）和手机号规则，
+     * 邮箱按“用户名@域名”匹配，域名中至少包含一个点。实例不可变，可在多线程间共享。
+     */
+    public static final class Masker {
+        private final boolean phoneEnabled;
+        private final int phoneMinLength;
+        private final int phoneMaxLength;
+        private final int phoneKeepHead;
+        private final int phoneKeepTail;
+        private final boolean idEnabled;
+        private final int idKeepHead;
+        private final int idKeepTail;
+        private final boolean emailEnabled;
+        private final int emailKeepHead;
+        private final char maskChar;
+        private final int maskLength;
+
+        private Masker(Builder builder) {
+            this.phoneEnabled = builder.phoneEnabled;
+            this.phoneMinLength = builder.phoneMinLength;
+            this.phoneMaxLength = builder.phoneMaxLength;
+            this.phoneKeepHead = builder.phoneKeepHead;
+            this.phoneKeepTail = builder.phoneKeepTail;
+            this.idEnabled = builder.idEnabled;
+            this.idKeepHead = builder.idKeepHead;
+            this.idKeepTail = builder.idKeepTail;
+            this.emailEnabled = builder.emailEnabled;
+            this.emailKeepHead = builder.emailKeepHead;
+            this.maskChar = builder.maskChar;
+            this.maskLength = builder.maskLength;
+        }
+
+        /**
+         * 对文本中所有匹配规则的内容进行脱敏。
+         *
+         * @param text 要脱敏的文本
+         * @return 脱敏后的文本
+         */
+        public String mask(CharSequence text) {
+            StringBuilder out = new StringBuilder(text.length() + 8);
+            mask(text, out);
+            return out.toString();
+        }
+
+        /**
+         * 对文本中所有匹配规则的内容进行脱敏，结果追加到调用方提供的StringBuilder，便于复用缓冲区。
+         *
+         * @param text 要脱敏的文本
+         * @param out  脱敏结果的输出位置
+         */
+        public void mask(CharSequence text, StringBuilder out) {
+            mask(text, 0, text.length(), out);
+        }
+
+        /**
+         * 对文本的指定区间进行脱敏，结果追加到调用方提供的StringBuilder。
+         *
+         * @param text  要脱敏的文本
+         * @param start 起始位置（包含）
+         * @param end   结束位置（不包含）
+         * @param out   脱敏结果的输出位置
+         */
+        public void mask(CharSequence text, int start, int end, StringBuilder out) {
+            if (!emailEnabled) {
+                maskDigits(text, start, end, out);
+                return;
+            }
+            int i = start;
+            while (i < end) {
+                if (!isEmailLocalChar(text.charAt(i))) {
+                    out.append(text.charAt(i++));
+                    continue;
+                }
+                int localEnd = i + 1;
+                while (localEnd < end && isEmailLocalChar(text.charAt(localEnd))) {
+                    localEnd++;
+                }
+                int domainEnd = emailDomainEnd(text, localEnd, end);
+                if (domainEnd > 0) {
+                    appendMasked(text, i, localEnd, Math.min(emailKeepHead, localEnd - i), 0, out);
+                    out.append(text, localEnd, domainEnd);
+                    i = domainEnd;
+                } else {
+                    // 不是邮箱，按数字规则处理这一段
+                    maskDigits(text, i, localEnd, out);
+                    i = localEnd;
+                }
+            }
+        }
+
+        /**
+         * 如果从at开始是“@域名”，返回域名的结束位置，否则返回-1。
+         */
+        private static int emailDomainEnd(CharSequence text, int at, int end) {
+            if (at >= end || text.charAt(at) != '@') {
+                return -1;
+            }
+            int i = at + 1;
+            boolean dot = false;
+            while (i < end && isEmailDomainChar(text.charAt(i))) {
+                // 域名中的点不能在开头
+                dot |= text.charAt(i) == '.' && i > at + 1;
+                i++;
+            }
+            return dot ? i : -1;
+        }
+
+        private void maskDigits(CharSequence text, int start, int end, StringBuilder out) {
+            int i = start;
+            while (i < end) {
+                char c = text.charAt(i);
+                if (!isDigit(c)) {
+                    out.append(c);
+                    i++;
+                    continue;
+                }
+                int runEnd = i + 1;
+                while (runEnd < end && isDigit(text.charAt(runEnd))) {
+                    runEnd++;
+                }
+                int length = runEnd - i;
+                if (idEnabled && length == 17 && runEnd < end && (text.charAt(runEnd) == 'X' || text.charAt(runEnd) == 'x')) {
+                    appendMasked(text, i, runEnd + 1, idKeepHead, idKeepTail, out);
+                    runEnd++;
+                } else if (idEnabled && (length == 15 || length == 18)) {
+                    appendMasked(text, i, runEnd, idKeepHead, idKeepTail, out);
+                } else if (phoneEnabled && length >= phoneMinLength && length <= phoneMaxLength) {
+                    appendMasked(text, i, runEnd, phoneKeepHead, phoneKeepTail, out);
+                } else {
+                    out.append(text, i, runEnd);
+                }
+                i = runEnd;
+            }
+        }
+
+        /**
+         * 保留区间的前keepHead个和后keepTail个字符，中间替换为掩码。
+         * 区间长度不超过保留长度时原样输出。
+         */
+        private void appendMasked(CharSequence text, int start, int end, int keepHead, int keepTail, StringBuilder out) {
+            int hidden = end - start - keepHead - keepTail;
+            if (hidden < 0 || hidden == 0 && keepTail == 0) {
+                out.append(text, start, end);
+                return;
+            }
+            out.append(text, start, start + keepHead);
+            for (int n = maskLength < 0 ? hidden : maskLength; n > 0; n--) {
+                out.append(maskChar);
+            }
+            out.append(text, end - keepTail, end);
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static boolean isEmailLocalChar(char c) {
+            return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || isDigit(c)
+                    || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+        }
+
+        private static boolean isEmailDomainChar(char c) {
+            return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || isDigit(c) || c == '.' || c == '-';
+        }
+
+        /**
+         * 脱敏引擎构建器，未启用的规则不会匹配。
+         */
+        public static final class Builder {
+            private boolean phoneEnabled;
+            private int phoneMinLength;
+            private int phoneMaxLength;
+            private int phoneKeepHead;
+            private int phoneKeepTail;
+            private boolean idEnabled;
+            private int idKeepHead;
+            private int idKeepTail;
+            private boolean emailEnabled;
+            private int emailKeepHead;
+            private char maskChar = '*';
+            private int maskLength = MASK.length();
+
+            private Builder() {
+            }
+
+            /**
+             * 启用手机号规则，匹配长度在指定范围内的连续数字。
+             *
+             * @param minLength 最小长度
+             * @param maxLength 最大长度
+             * @param keepHead  保留的开头位数
+             * @param keepTail  保留的结尾位数
+             * @return 当前构建器
+             */
+            public Builder phoneNumbers(int minLength, int maxLength, int keepHead, int keepTail) {
+                checkKeep(keepHead, keepTail);
+                if (minLength <= 0 || maxLength < minLength) {
+                    throw new IllegalArgumentException("Invalid phone number length range: " + minLength + "-" + maxLength);
+                }
+                this.phoneEnabled = true;
+                this.phoneMinLength = minLength;
+                this.phoneMaxLength = maxLength;
+                this.phoneKeepHead = keepHead;
+                this.phoneKeepTail = keepTail;
+                return this;
+            }
+
+            /**
+             * 启用身份证号规则，匹配15位数字或18位（最后一位可以是X）的身份证号，优先于手机号规则。
+             *
+             * @param keepHead 保留的开头位数
+             * @param keepTail 保留的结尾位数
+             * @return 当前构建器
+             */
+            public Builder idNumbers(int keepHead, int keepTail) {
+                checkKeep(keepHead, keepTail);
+                this.idEnabled = true;
+                this.idKeepHead = keepHead;
+                this.idKeepTail = keepTail;
+                return this;
+            }
+
+            /**
+             * 启用邮箱规则，保留用户名的开头字符，域名不脱敏。
+             *
+             * @param keepHead 用户名保留的开头字符数
+             * @return 当前构建器
+             */
+            public Builder emails(int keepHead) {
+                checkKeep(keepHead, 0);
+                this.emailEnabled = true;
+                this.emailKeepHead = keepHead;
+                return this;
+            }
+
+            /**
+             * 设置掩码字符，默认为星号。
+             *
+             * @param maskChar 掩码字符
+             * @return 当前构建器
+             */
+            public Builder maskChar(char maskChar) {
+                this.maskChar = maskChar;
+                return this;
+            }
+
+            /**
+             * 设置掩码长度，默认为4个字符；为负数时掩码长度与被隐藏的字符数相同。
+             *
+             * @param maskLength 掩码长度
+             * @return 当前构建器
+             */
+            public Builder maskLength(int maskLength) {
+                this.maskLength = maskLength;
+                return this;
+            }
+
+            /**
+             * 创建脱敏引擎。
+             *
+             * @return 脱敏引擎
+             */
+            public Masker build() {
+                return new Masker(this);
+            }
+
+            private static void checkKeep(int keepHead, int keepTail) {
+                if (keepHead < 0 || keepTail < 0) {
+                    throw new IllegalArgumentException("Invalid keep length: " + keepHead + ", " + keepTail);
+                }
+            }
+        }
+    }
+
+    /**
+     * 预先生成的RSA密钥对池，由后台守护线程补充
+     */
+    private static final class KeyPairPool {
+        /**
+         * 所有密钥对池共用的后台线程池，线程数不超过CPU核心数的一半
+         */
+        private static final ExecutorService EXECUTOR;
+
+        static {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+            AtomicInteger threadNumber = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "rsa-key-pair-pool-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            EXECUTOR = executor;
+        }
+
+        private final int keySize;
+        private final BlockingQueue<KeyPair> keyPairs;
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private KeyPairPool(int keySize, int poolSize) {
+            this.keySize = keySize;
+            this.keyPairs = new ArrayBlockingQueue<>(poolSize);
+        }
+
+        /**
+         * 取出一个密钥对并触发补充。
+         *
+         * @return 密钥对，池为空时返回null
+         */
+        private KeyPair take() {
+            KeyPair keyPair = keyPairs.poll();
+            refill();
+            return keyPair;
+        }
+
+        /**
+         * 提交补充任务，同一时间每个池最多只有一个补充任务。
+         */
+        private void refill() {
+            if (!closed && keyPairs.remainingCapacity() > 0 && refilling.compareAndSet(false, true)) {
+                EXECUTOR.execute(this::generate);
+            }
+        }
+
+        private void generate() {
+            try {
+                KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(RSA_ALGORITHM);
+                keyPairGenerator.initialize(keySize);
+                while (!closed && keyPairs.remainingCapacity() > 0) {
+                    keyPairs.offer(keyPairGenerator.generateKeyPair());
+                }
+            } catch (NoSuchAlgorithmException e) {
+                // 启用时已校验过算法，池为空时调用方会同步生成
+            } finally {
+                refilling.set(false);
+            }
+            // 补充期间可能有密钥对被取走
+            refill();
+        }
+
+        private void close() {
+            closed = true;
+            keyPairs.clear();
+        }
+    }
 }
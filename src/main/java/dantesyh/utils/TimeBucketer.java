@@ -0,0 +1,211 @@
+package dantesyh.utils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * 按分钟、小时或天将毫秒时间戳截断到所在时间桶的起点，时间桶按指定时区的本地时间划分。
+ * <p>
+ * 时区偏移量不变的区间由时区规则计算后缓存，时间桶完整落在该区间内时只做整数运算，不分配对象；
+ * 跨越夏令时切换的时间桶按本地时间换算，切换跳过的时刻向后顺延，重复的时刻保留各自的偏移量。
+ * 输入在时间上越集中，缓存命中率越高。
+ * <p>
+ * 通过{@link TimeUtils#timeBucketer(ChronoUnit)}等方法获取，实例可在多线程间共享。
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+public final class TimeBucketer {
+    private final ChronoUnit unit;
+    private final long unitMillis;
+    private final ZoneId zone;
+    private final ZoneRules rules;
+
+    /**
+     * 格式化时间桶标签的快速格式化器，按天或按秒缓存格式化结果，可在多线程间共享
+     */
+    private final TimestampFormatter labelFormatter;
+
+    /**
+     * 最近一次使用的偏移量不变区间，条目不可变，多线程竞争时最多重复计算
+     */
+    private volatile OffsetRange range;
+
+    TimeBucketer(ChronoUnit unit, ZoneId zone) {
+        String labelPattern;
+        switch (unit) {
+            case MINUTES:
+            case HOURS:
+                labelPattern = TimeUtils.DATE_TIME_FORMAT;
+                break;
+            case DAYS:
+                labelPattern = TimeUtils.DATE_FORMAT;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported bucket unit: " + unit);
+        }
+        this.labelFormatter = new TimestampFormatter(labelPattern, zone);
+        this.unit = unit;
+        this.unitMillis = unit.getDuration().toMillis();
+        this.zone = zone;
+        this.rules = zone.getRules();
+    }
+
+    /**
+     * 获取时间桶的单位。
+     *
+     * @return 分钟、小时或天
+     */
+    public ChronoUnit unit() {
+        return unit;
+    }
+
+    /**
+     * 将时间戳截断到所在时间桶的起点。
+     *
+     * @param epochMillis 毫秒时间戳
+     * @return 时间桶起点的毫秒时间戳
+     */
+    public long truncate(long epochMillis) {
+        OffsetRange r = range;
+        if (r == null || epochMillis < r.start || epochMillis >= r.end) {
+            r = offsetRange(epochMillis);
+            range = r;
+        }
+        long start = Math.floorDiv(epochMillis + r.offsetMillis, unitMillis) * unitMillis - r.offsetMillis;
+        if (start >= r.start && start + unitMillis <= r.end) {
+            return start;
+        }
+        // 时间桶跨越偏移量变化，按本地时间换算
+        ZoneOffset offset = ZoneOffset.ofTotalSeconds(r.offsetMillis / 1000);
+        LocalDateTime local = LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000), 0, offset).truncatedTo(unit);
+        return ZonedDateTime.ofLocal(local, zone, offset).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 将时间戳批量截断到所在时间桶的起点。
+     *
+     * @param epochMillis 毫秒时间戳
+     * @param dest        写入结果的数组，长度与输入相同，可以是输入数组本身
+     * @throws IllegalArgumentException 数组长度不一致
+     */
+    public void truncate(long[] epochMillis, long[] dest) {
+        if (dest.length != epochMillis.length) {
+            throw new IllegalArgumentException("Destination length " + dest.length + " does not match " + epochMillis.length);
+        }
+        for (int i = 0; i < epochMillis.length; i++) {
+            dest[i] = truncate(epochMillis[i]);
+        }
+    }
+
+    /**
+     * 将升序排列的时间戳按时间桶分组，每个时间桶对应输入中连续的下标区间。
+     *
+     * @param sortedEpochMillis 升序排列的毫秒时间戳
+     * @return 分组结果，下标区间指向输入数组
+     * @throws IllegalArgumentException 输入不是升序排列
+     */
+    public TimeBuckets group(long[] sortedEpochMillis) {
+        for (int i = 1; i < sortedEpochMillis.length; i++) {
+            if (sortedEpochMillis[i] < sortedEpochMillis[i - 1]) {
+                throw new IllegalArgumentException("Input is not sorted at index " + i);
+            }
+        }
+        return runs(sortedEpochMillis, false);
+    }
+
+    /**
+     * 统计任意顺序的时间戳在每个时间桶中的数量，结果按时间桶起点升序排列。
+     *
+     * @param epochMillis 毫秒时间戳
+     * @return 每个时间桶的起点和数量，不支持{@link TimeBuckets#from(int)}和{@link TimeBuckets#to(int)}
+     */
+    public TimeBuckets count(long[] epochMillis) {
+        long[] starts = new long[epochMillis.length];
+        truncate(epochMillis, starts);
+        Arrays.sort(starts);
+        return runs(starts, true);
+    }
+
+    /**
+     * 获取时间桶的标签，以天为单位时格式为{@link TimeUtils#DATE_FORMAT}，否则为{@link TimeUtils#DATE_TIME_FORMAT}。
+     *
+     * @param bucketStart 时间桶起点的毫秒时间戳
+     * @return 时间桶的标签
+     */
+    public String label(long bucketStart) {
+        return labelFormatter.format(bucketStart);
+    }
+
+    /**
+     * 按相邻元素的时间桶起点划分区间。
+     *
+     * @param values    升序排列的时间戳
+     * @param truncated 时间戳是否已经截断到时间桶起点
+     */
+    private TimeBuckets runs(long[] values, boolean truncated) {
+        long[] starts = new long[16];
+        int[] offsets = new int[17];
+        int size = 0;
+        long current = 0;
+        for (int i = 0; i < values.length; i++) {
+            long start = truncated ? values[i] : truncate(values[i]);
+            if (size == 0 || start != current) {
+                if (size == starts.length) {
+                    starts = Arrays.copyOf(starts, size * 2);
+                    offsets = Arrays.copyOf(offsets, size * 2 + 1);
+                }
+                starts[size] = start;
+                offsets[size] = i;
+                size++;
+                current = start;
+            }
+        }
+        offsets[size] = values.length;
+        // 已截断的输入是count()内部排序的副本，区间对调用方没有意义
+        return new TimeBuckets(this, Arrays.copyOf(starts, size), Arrays.copyOf(offsets, size + 1), !truncated);
+    }
+
+    /**
+     * 按时区规则计算时间戳所在的偏移量不变区间。
+     */
+    private OffsetRange offsetRange(long epochMillis) {
+        Instant instant = Instant.ofEpochMilli(epochMillis);
+        int offsetMillis = rules.getOffset(instant).getTotalSeconds() * 1000;
+        long start = Long.MIN_VALUE;
+        long end = Long.MAX_VALUE;
+        if (!rules.isFixedOffset()) {
+            ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1));
+            if (previous != null) {
+                start = previous.toEpochSecond() * 1000;
+            }
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            if (next != null) {
+                end = next.toEpochSecond() * 1000;
+            }
+        }
+        return new OffsetRange(start, end, offsetMillis);
+    }
+
+    /**
+     * 时区偏移量不变的时间区间
+     */
+    private static final class OffsetRange {
+        final long start;
+        final long end;
+        final int offsetMillis;
+
+        OffsetRange(long start, long end, int offsetMillis) {
+            this.start = start;
+            this.end = end;
+            this.offsetMillis = offsetMillis;
+        }
+    }
+}
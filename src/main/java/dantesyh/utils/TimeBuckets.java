@@ -0,0 +1,114 @@
+package dantesyh.utils;
+
+/**
+ * 时间戳按时间桶分组的结果，时间桶按起点升序排列。
+ * <p>
+ * 由{@link TimeBucketer#group(long[])}或{@link TimeBucketer#count(long[])}生成，实例不可变。
+ * 只有{@code group}的结果带有指向输入数组的下标区间，{@code count}的结果只有起点和数量。
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+public final class TimeBuckets {
+    private final TimeBucketer bucketer;
+    private final long[] starts;
+
+    /**
+     * 每个时间桶的起始下标，最后一个元素为输入长度
+     */
+    private final int[] offsets;
+
+    /**
+     * 下标区间是否指向调用方的输入数组
+     */
+    private final boolean indexed;
+
+    TimeBuckets(TimeBucketer bucketer, long[] starts, int[] offsets, boolean indexed) {
+        this.bucketer = bucketer;
+        this.starts = starts;
+        this.offsets = offsets;
+        this.indexed = indexed;
+    }
+
+    /**
+     * 获取时间桶的数量。
+     *
+     * @return 时间桶的数量
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * 获取时间桶起点的毫秒时间戳。
+     *
+     * @param index 时间桶序号
+     * @return 时间桶起点的毫秒时间戳
+     */
+    public long start(int index) {
+        return starts[index];
+    }
+
+    /**
+     * 获取时间桶中的时间戳数量。
+     *
+     * @param index 时间桶序号
+     * @return 时间戳数量
+     */
+    public int count(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * 获取时间桶在{@link TimeBucketer#group(long[])}输入数组中对应区间的起始下标（包含）。
+     *
+     * @param index 时间桶序号
+     * @return 起始下标
+     * @throws IllegalStateException 结果由{@link TimeBucketer#count(long[])}生成，没有对应的输入区间
+     */
+    public int from(int index) {
+        checkIndexed();
+        return offsets[index];
+    }
+
+    /**
+     * 获取时间桶在{@link TimeBucketer#group(long[])}输入数组中对应区间的结束下标（不包含）。
+     *
+     * @param index 时间桶序号
+     * @return 结束下标
+     * @throws IllegalStateException 结果由{@link TimeBucketer#count(long[])}生成，没有对应的输入区间
+     */
+    public int to(int index) {
+        checkIndexed();
+        return offsets[index + 1];
+    }
+
+    /**
+     * 获取时间桶的标签，格式见{@link TimeBucketer#label(long)}。
+     *
+     * @param index 时间桶序号
+     * @return 时间桶的标签
+     */
+    public String label(int index) {
+        return bucketer.label(starts[index]);
+    }
+
+    /**
+     * 获取全部时间桶的标签。
+     *
+     * @return 与时间桶一一对应的标签
+     */
+    public String[] labels() {
+        String[] labels = new String[starts.length];
+        for (int i = 0; i < starts.length; i++) {
+            labels[i] = bucketer.label(starts[i]);
+        }
+        return labels;
+    }
+
+    private void checkIndexed() {
+        if (!indexed) {
+            throw new IllegalStateException("Buckets from count() have no index ranges into the input");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package dantesyh.utils;
+
+import java.text.ParseException;
+import java.util.List;
+
+/**
+ * 批量时间格式转换的结果
+ *
+ * @param values   与输入一一对应的转换结果，失败或输入为null的位置为null
+ * @param failures 转换失败的行，按序号升序排列
+ * @author dante
+ * @since 2026/10/18
+ */
+public record TimeConversionResult(List<String> values, List<Failure> failures) {
+
+    /**
+     * 判断是否全部转换成功。
+     *
+     * @return 没有失败的行时返回true
+     */
+    public boolean isSuccess() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * 转换失败的行
+     *
+     * @param index 输入中的序号
+     * @param input 输入时间
+     * @param error 解析异常
+     */
+    public record Failure(int index, String input, ParseException error) {
+    }
+}
@@ -1,12 +1,27 @@
 package dantesyh.utils;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * 时间相关工具类
@@ -33,9 +48,263 @@ public class TimeUtils {
      */
     public static final String TIME_FORMAT = "HH:mm:ss";
 
+    /**
+     * 批量转换时并行处理的阈值，同时也是每个并行分块的大小
+     */
+    public static final int BULK_PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * 共享缓存时钟的刷新间隔毫秒数
+     */
+    public static final long DEFAULT_CLOCK_RESOLUTION_MILLIS = 10;
+
+    /**
+     * 默认日期格式的格式化器
+     */
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_FORMAT);
+
+    /**
+     * 默认日期时间格式的格式化器
+     */
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT);
+
+    /**
+     * 默认时间格式的格式化器
+     */
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern(TIME_FORMAT);
+
+    /**
+     * 自定义格式的格式化器缓存数量上限
+     */
+    private static final int FORMATTER_CACHE_SIZE = 128;
+
+    /**
+     * 按格式字符串缓存的格式化器，DateTimeFormatter不可变，可在多线程间共享
+     */
+    private static final LruCache<String, DateTimeFormatter> FORMATTER_CACHE = new LruCache<>(FORMATTER_CACHE_SIZE);
+
+    /**
+     * 获取格式字符串对应的格式化器，默认格式直接返回预先编译的实例，其他格式从缓存中获取，不存在时编译并放入缓存。
+     *
+     * @param pattern 格式字符串，规则见{@link DateTimeFormatter}
+     * @return 格式化器
+     * @throws IllegalArgumentException 格式字符串无效
+     */
+    public static DateTimeFormatter formatter(String pattern) {
+        switch (pattern) {
+            case DATE_FORMAT:
+                return DATE_FORMATTER;
+            case DATE_TIME_FORMAT:
+                return DATE_TIME_FORMATTER;
+            case TIME_FORMAT:
+                return TIME_FORMATTER;
+            default:
+                break;
+        }
+        DateTimeFormatter formatter = FORMATTER_CACHE.get(pattern);
+        if (formatter == null) {
+            formatter = DateTimeFormatter.ofPattern(pattern);
+            FORMATTER_CACHE.put(pattern, formatter);
+        }
+        return formatter;
+    }
+
+    /**
+     * 获取自定义格式的格式化器缓存的统计数据，默认格式不经过缓存。
+     *
+     * @return 格式化器缓存统计数据
+     */
+    public static CacheStats formatterCacheStats() {
+        return FORMATTER_CACHE.stats();
+    }
+
+    /**
+     * 获取默认格式在系统默认时区下的快速格式化器，用于高频格式化毫秒时间戳。
+     *
+     * @param pattern {@link #DATE_FORMAT}、{@link #DATE_TIME_FORMAT}或{@link #TIME_FORMAT}
+     * @return 快速格式化器
+     * @throws IllegalArgumentException 不支持的格式
+     */
+    public static TimestampFormatter timestampFormatter(String pattern) {
+        return timestampFormatter(pattern, ZoneId.systemDefault());
+    }
+
+    /**
+     * 获取默认格式在指定时区下的快速格式化器，用于高频格式化毫秒时间戳。
+     *
+     * @param pattern {@link #DATE_FORMAT}、{@link #DATE_TIME_FORMAT}或{@link #TIME_FORMAT}
+     * @param zone    时区
+     * @return 快速格式化器
+     * @throws IllegalArgumentException 不支持的格式
+     */
+    public static TimestampFormatter timestampFormatter(String pattern, ZoneId zone) {
+        return new TimestampFormatter(pattern, zone);
+    }
+
+    /**
+     * 获取共享的缓存时钟，以{@link #DEFAULT_CLOCK_RESOLUTION_MILLIS}的精度刷新，字符串使用首次调用时的系统默认时区。
+     *
+     * @return 共享的缓存时钟，调用其{@link CachedClock#close()}不起作用
+     */
+    public static CachedClock cachedClock() {
+        return DefaultClockHolder.CLOCK;
+    }
+
+    /**
+     * 创建独立的缓存时钟，不再使用时应关闭。
+     *
+     * @param resolutionMillis 刷新间隔毫秒数
+     * @param zone             格式化字符串使用的时区
+     * @return 缓存时钟
+     * @throws IllegalArgumentException 刷新间隔不是正数
+     */
+    public static CachedClock cachedClock(long resolutionMillis, ZoneId zone) {
+        return new CachedClock(resolutionMillis, zone);
+    }
+
+    /**
+     * 创建使用系统默认时区的多格式时间解析器。
+     *
+     * @param patterns 支持的格式，同一输入匹配多个格式时优先使用靠前的格式
+     * @return 多格式时间解析器
+     * @throws IllegalArgumentException 没有格式或格式字符串无效
+     */
+    public static TimestampParser timestampParser(String... patterns) {
+        return timestampParser(ZoneId.systemDefault(), patterns);
+    }
+
+    /**
+     * 创建使用指定时区的多格式时间解析器。
+     *
+     * @param zone     解析结果使用的时区
+     * @param patterns 支持的格式，同一输入匹配多个格式时优先使用靠前的格式
+     * @return 多格式时间解析器
+     * @throws IllegalArgumentException 没有格式或格式字符串无效
+     */
+    public static TimestampParser timestampParser(ZoneId zone, String... patterns) {
+        return new TimestampParser(zone, patterns);
+    }
+
+    /**
+     * 创建按系统默认时区划分时间桶的截断器。
+     *
+     * @param unit 时间桶单位，支持{@link ChronoUnit#MINUTES}、{@link ChronoUnit#HOURS}和{@link ChronoUnit#DAYS}
+     * @return 时间桶截断器
+     * @throws IllegalArgumentException 不支持的单位
+     */
+    public static TimeBucketer timeBucketer(ChronoUnit unit) {
+        return timeBucketer(unit, ZoneId.systemDefault());
+    }
 
     /**
-     * 字符串时间格式生成
+     * 创建按指定时区划分时间桶的截断器。
+     *
+     * @param unit 时间桶单位，支持{@link ChronoUnit#MINUTES}、{@link ChronoUnit#HOURS}和{@link ChronoUnit#DAYS}
+     * @param zone 划分时间桶使用的时区
+     * @return 时间桶截断器
+     * @throws IllegalArgumentException 不支持的单位
+     */
+    public static TimeBucketer timeBucketer(ChronoUnit unit, ZoneId zone) {
+        return new TimeBucketer(unit, zone);
+    }
+
+    /**
+     * 延迟创建共享的缓存时钟，首次使用时才启动后台线程
+     */
+    private static final class DefaultClockHolder {
+        static final CachedClock CLOCK = new CachedClock(DEFAULT_CLOCK_RESOLUTION_MILLIS, ZoneId.systemDefault(), true);
+    }
+
+    /**
+     * 获取用于解析的格式化器，使用严格的解析规则，不存在的日期（例如2月30日）视为格式不匹配，不会调整到月末。
+     * 严格规则下没有纪元的{@code yyyy}不会自动换算为年份，由{@link #resolve(TemporalAccessor, ZoneId)}按公元补全。
+     *
+     * @param pattern 格式字符串
+     * @return 严格解析的格式化器
+     */
+    static DateTimeFormatter parser(String pattern) {
+        return formatter(pattern).withResolverStyle(ResolverStyle.STRICT);
+    }
+
+    /**
+     * 将解析结果补全为指定时区的时间，缺少的字段与{@link java.text.SimpleDateFormat}一样逐个取1970-01-01 00:00:00，
+     * 只有12小时制的小时没有上下午标记时按上午处理；带时区或偏移量的输入换算到指定时区，本地时间落在夏令时跳过的区间时向后顺延。
+     *
+     * @param parsed     解析结果
+     * @param systemZone 目标时区，通常为系统默认时区
+     * @return 目标时区的时间
+     * @throws DateTimeException 已解析的字段不合法，例如不存在的日期
+     */
+    static ZonedDateTime resolve(TemporalAccessor parsed, ZoneId systemZone) {
+        LocalDate date = parsed.query(TemporalQueries.localDate());
+        if (date == null) {
+            int year;
+            if (parsed.isSupported(ChronoField.YEAR)) {
+                year = parsed.get(ChronoField.YEAR);
+            } else {
+                // 没有纪元的yyyy按公元解释
+                year = field(parsed, ChronoField.YEAR_OF_ERA, 1970);
+            }
+            if (parsed.isSupported(ChronoField.DAY_OF_YEAR) && !parsed.isSupported(ChronoField.MONTH_OF_YEAR)) {
+                date = LocalDate.ofYearDay(year, parsed.get(ChronoField.DAY_OF_YEAR));
+            } else {
+                date = LocalDate.of(year, field(parsed, ChronoField.MONTH_OF_YEAR, 1), field(parsed, ChronoField.DAY_OF_MONTH, 1));
+            }
+        }
+        LocalTime time = parsed.query(TemporalQueries.localTime());
+        if (time == null) {
+            int hour;
+            if (parsed.isSupported(ChronoField.HOUR_OF_DAY)) {
+                hour = parsed.get(ChronoField.HOUR_OF_DAY);
+            } else {
+                int hourOfAmPm = parsed.isSupported(ChronoField.CLOCK_HOUR_OF_AMPM)
+                        ? parsed.get(ChronoField.CLOCK_HOUR_OF_AMPM) % 12
+                        : field(parsed, ChronoField.HOUR_OF_AMPM, 0);
+                hour = field(parsed, ChronoField.AMPM_OF_DAY, 0) * 12 + hourOfAmPm;
+            }
+            time = LocalTime.of(hour, field(parsed, ChronoField.MINUTE_OF_HOUR, 0),
+                    field(parsed, ChronoField.SECOND_OF_MINUTE, 0), field(parsed, ChronoField.NANO_OF_SECOND, 0));
+        }
+        ZoneId zone = parsed.query(TemporalQueries.zone());
+        if (zone == null) {
+            return ZonedDateTime.of(date, time, systemZone);
+        }
+        return ZonedDateTime.of(date, time, zone).withZoneSameInstant(systemZone);
+    }
+
+    private static int field(TemporalAccessor parsed, ChronoField field, int defaultValue) {
+        return parsed.isSupported(field) ? parsed.get(field) : defaultValue;
+    }
+
+    /**
+     * 使用已编译的格式化器转换时间字符串的格式。
+     *
+     * @param inputTime       输入时间
+     * @param inputFormatter  输入时间的格式化器
+     * @param outputFormatter 输出时间的格式化器
+     * @param zone            解析结果所在的时区
+     * @return 输出时间
+     * @throws ParseException 格式不匹配
+     */
+    private static String convert(String inputTime, DateTimeFormatter inputFormatter, DateTimeFormatter outputFormatter, ZoneId zone) throws ParseException {
+        ZonedDateTime dateTime;
+        try {
+            dateTime = resolve(inputFormatter.parse(inputTime), zone);
+        } catch (DateTimeParseException e) {
+            ParseException exception = new ParseException(e.getMessage(), e.getErrorIndex());
+            exception.initCause(e);
+            throw exception;
+        } catch (DateTimeException e) {
+            ParseException exception = new ParseException(e.getMessage(), 0);
+            exception.initCause(e);
+            throw exception;
+        }
+        return outputFormatter.format(dateTime);
+    }
+
+
+    /**
+     * 字符串时间格式生成，缺少的字段取1970-01-01 00:00:00，不存在的日期（例如2月30日）视为格式不匹配。
      *
      * @param inputTime    输入时间
      * @param inputFormat  输入时间格式
@@ -44,11 +313,130 @@ public class TimeUtils {
      * @throws ParseException 格式不匹配
      */
     public static String convertDateTimeFormat(String inputTime, String inputFormat, String outputFormat) throws ParseException {
-        SimpleDateFormat inputDateFormat = new SimpleDateFormat(inputFormat);
-        Date date = inputDateFormat.parse(inputTime);
+        return convert(inputTime, parser(inputFormat), formatter(outputFormat), ZoneId.systemDefault());
+    }
+
+    /**
+     * 批量转换时间字符串的格式，输入和输出格式只编译一次，数量超过{@link #BULK_PARALLEL_THRESHOLD}时分块并行转换。
+     * 单行格式不匹配不会中断整批转换，对应位置的结果为null，并记录在返回结果的失败列表中；输入为null的行结果为null，不计为失败。
+     *
+     * @param inputTimes   输入时间
+     * @param inputFormat  输入时间格式
+     * @param outputFormat 输出时间格式
+     * @return 与输入一一对应的转换结果和失败列表
+     * @throws IllegalArgumentException 格式字符串无效
+     */
+    public static TimeConversionResult convertDateTimeFormat(String[] inputTimes, String inputFormat, String outputFormat) {
+        DateTimeFormatter inputFormatter = parser(inputFormat);
+        DateTimeFormatter outputFormatter = formatter(outputFormat);
+        ZoneId zone = ZoneId.systemDefault();
+        String[] values = new String[inputTimes.length];
+        ParseException[] errors = new ParseException[inputTimes.length];
+        forEachChunk(inputTimes.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (inputTimes[i] == null) {
+                    continue;
+                }
+                try {
+                    values[i] = convert(inputTimes[i], inputFormatter, outputFormatter, zone);
+                } catch (ParseException e) {
+                    errors[i] = e;
+                }
+            }
+        });
+        List<TimeConversionResult.Failure> failures = new ArrayList<>();
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] != null) {
+                failures.add(new TimeConversionResult.Failure(i, inputTimes[i], errors[i]));
+            }
+        }
+        return new TimeConversionResult(Collections.unmodifiableList(Arrays.asList(values)), Collections.unmodifiableList(failures));
+    }
+
+    /**
+     * 批量转换时间字符串的格式，规则同{@link #convertDateTimeFormat(String[], String, String)}。
+     *
+     * @param inputTimes   输入时间
+     * @param inputFormat  输入时间格式
+     * @param outputFormat 输出时间格式
+     * @return 与输入一一对应的转换结果和失败列表
+     * @throws IllegalArgumentException 格式字符串无效
+     */
+    public static TimeConversionResult convertDateTimeFormat(List<String> inputTimes, String inputFormat, String outputFormat) {
+        return convertDateTimeFormat(inputTimes.toArray(new String[0]), inputFormat, outputFormat);
+    }
+
+    /**
+     * 批量转换时间字符串的格式，流会被完整读取，失败行的序号为其在流中的位置，其余规则同{@link #convertDateTimeFormat(String[], String, String)}。
+     *
+     * @param inputTimes   输入时间
+     * @param inputFormat  输入时间格式
+     * @param outputFormat 输出时间格式
+     * @return 与输入一一对应的转换结果和失败列表
+     * @throws IllegalArgumentException 格式字符串无效
+     */
+    public static TimeConversionResult convertDateTimeFormat(Stream<String> inputTimes, String inputFormat, String outputFormat) {
+        return convertDateTimeFormat(inputTimes.toArray(String[]::new), inputFormat, outputFormat);
+    }
+
+    /**
+     * 将毫秒时间戳批量格式化为系统默认时区下指定格式的时间字符串，数量超过{@link #BULK_PARALLEL_THRESHOLD}时分块并行格式化。
+     * 默认格式使用{@link TimestampFormatter}，每个分块使用独立的实例；年份超出0001~9999的时间戳改用DateTimeFormatter格式化，
+     * 结果与自定义格式一致（如{@code +10000-01-01}），不会影响其他行。
+     *
+     * @param epochMillis  毫秒时间戳
+     * @param outputFormat 输出时间的格式
+     * @return 与输入一一对应的时间字符串
+     * @throws IllegalArgumentException 格式字符串无效
+     */
+    public static String[] convertDateTimeFormat(long[] epochMillis, String outputFormat) {
+        ZoneId zone = ZoneId.systemDefault();
+        boolean fast = DATE_FORMAT.equals(outputFormat) || DATE_TIME_FORMAT.equals(outputFormat) || TIME_FORMAT.equals(outputFormat);
+        DateTimeFormatter outputFormatter = formatter(outputFormat).withZone(zone);
+        String[] values = new String[epochMillis.length];
+        forEachChunk(epochMillis.length, (from, to) -> {
+            if (fast) {
+                TimestampFormatter timestampFormatter = timestampFormatter(outputFormat, zone);
+                for (int i = from; i < to; i++) {
+                    try {
+                        values[i] = timestampFormatter.format(epochMillis[i]);
+                    } catch (DateTimeException e) {
+                        values[i] = outputFormatter.format(Instant.ofEpochMilli(epochMillis[i]));
+                    }
+                }
+            } else {
+                for (int i = from; i < to; i++) {
+                    values[i] = outputFormatter.format(Instant.ofEpochMilli(epochMillis[i]));
+                }
+            }
+        });
+        return values;
+    }
+
+    /**
+     * 将[0, size)按{@link #BULK_PARALLEL_THRESHOLD}分块处理，只有一块时在当前线程执行，否则在公共ForkJoinPool中并行执行。
+     *
+     * @param size   元素数量
+     * @param action 处理[from, to)区间的操作
+     */
+    private static void forEachChunk(int size, IntBinaryConsumer action) {
+        int chunks = (size + BULK_PARALLEL_THRESHOLD - 1) / BULK_PARALLEL_THRESHOLD;
+        if (chunks <= 1) {
+            action.accept(0, size);
+            return;
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * BULK_PARALLEL_THRESHOLD;
+            action.accept(from, Math.min(size, from + BULK_PARALLEL_THRESHOLD));
+        });
+    }
 
-        SimpleDateFormat outputDateFormat = new SimpleDateFormat(outputFormat);
-        return outputDateFormat.format(date);
+    /**
+     * 接收一个区间的操作
+     */
+    @FunctionalInterface
+    private interface IntBinaryConsumer {
+        void accept(int from, int to);
     }
 
     /**
@@ -59,8 +447,7 @@ public class TimeUtils {
      * @return 格式化后的时间字符串
      */
     public static String convertDateTimeFormat(Date inputTime, String outputFormat) {
-        SimpleDateFormat outputDateFormat = new SimpleDateFormat(outputFormat);
-        return outputDateFormat.format(inputTime);
+        return formatter(outputFormat).format(inputTime.toInstant().atZone(ZoneId.systemDefault()));
     }
 
     /**
@@ -91,8 +478,7 @@ public class TimeUtils {
      * @return 格式化后的日期字符串
      */
     public static String convertDateFormat(LocalDate inputTime, String outputFormat) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(outputFormat);
-        return inputTime.format(formatter);
+        return inputTime.format(formatter(outputFormat));
     }
 
     /**
@@ -114,8 +500,7 @@ public class TimeUtils {
      * @return 格式化后的时间字符串
      */
     public static String convertTimeFormat(LocalTime inputTime, String outputFormat) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(outputFormat);
-        return inputTime.format(formatter);
+        return inputTime.format(formatter(outputFormat));
     }
 
     /**
@@ -136,8 +521,7 @@ public class TimeUtils {
      * @return 格式化后的时间字符串
      */
     public static String convertDateTimeFormat(LocalDateTime inputTime, String outputFormat) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(outputFormat);
-        return inputTime.format(formatter);
+        return inputTime.format(formatter(outputFormat));
     }
 
     /**
@@ -0,0 +1,253 @@
+package dantesyh.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * 默认时间格式的快速格式化器，将毫秒时间戳直接写入调用方提供的StringBuilder、char[]或byte[]。
+ * <p>
+ * 只支持{@link TimeUtils#DATE_FORMAT}、{@link TimeUtils#DATE_TIME_FORMAT}和{@link TimeUtils#TIME_FORMAT}，
+ * 年份范围为0001~9999。格式化后的日期按天缓存，格式化后的完整时间按秒缓存，
+ * 时间戳递增的常见场景下只在跨天或跨秒时创建新的缓存条目，写入目标时不分配对象。
+ * <p>
+ * 通过{@link TimeUtils#timestampFormatter(String)}等方法获取，实例可在多线程间共享，应重复使用同一实例以命中缓存。
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+public final class TimestampFormatter {
+    private static final int DATE = 0;
+    private static final int DATE_TIME = 1;
+    private static final int TIME = 2;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /**
+     * 日期部分的长度，格式为"yyyy/MM/dd"
+     */
+    private static final int DATE_LENGTH = 10;
+
+    /**
+     * 时间部分在完整时间中的起始位置，格式为"yyyy/MM/dd HH:mm:ss"
+     */
+    private static final int TIME_OFFSET = 11;
+
+    /**
+     * 完整时间的长度
+     */
+    private static final int DATE_TIME_LENGTH = 19;
+
+    private final int kind;
+    private final int length;
+    private final ZoneRules rules;
+
+    /**
+     * 最近一次使用的日期缓存，条目不可变，多线程竞争时最多重复计算
+     */
+    private volatile Day day;
+
+    /**
+     * 最近一次使用的秒缓存
+     */
+    private volatile Second second;
+
+    TimestampFormatter(String pattern, ZoneId zone) {
+        switch (pattern) {
+            case TimeUtils.DATE_FORMAT:
+                kind = DATE;
+                length = DATE_LENGTH;
+                break;
+            case TimeUtils.DATE_TIME_FORMAT:
+                kind = DATE_TIME;
+                length = DATE_TIME_LENGTH;
+                break;
+            case TimeUtils.TIME_FORMAT:
+                kind = TIME;
+                length = DATE_TIME_LENGTH - TIME_OFFSET;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported pattern: " + pattern);
+        }
+        this.rules = zone.getRules();
+    }
+
+    /**
+     * 获取格式化结果的长度，固定不变。
+     *
+     * @return 格式化结果的字符数
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * 将时间戳格式化为字符串。
+     *
+     * @param epochMillis 毫秒时间戳
+     * @return 格式化后的字符串
+     * @throws DateTimeException 年份超出0001~9999
+     */
+    public String format(long epochMillis) {
+        byte[] text = text(epochMillis);
+        return new String(text, start(), length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 将时间戳格式化后追加到StringBuilder。
+     *
+     * @param epochMillis 毫秒时间戳
+     * @param builder     追加的目标
+     * @throws DateTimeException 年份超出0001~9999
+     */
+    public void formatTo(long epochMillis, StringBuilder builder) {
+        byte[] text = text(epochMillis);
+        for (int i = start(), end = i + length; i < end; i++) {
+            builder.append((char) text[i]);
+        }
+    }
+
+    /**
+     * 将时间戳格式化后写入字符数组。
+     *
+     * @param epochMillis 毫秒时间戳
+     * @param dest        写入的目标数组
+     * @param offset      写入的起始位置
+     * @return 写入结束的位置
+     * @throws DateTimeException         年份超出0001~9999
+     * @throws IndexOutOfBoundsException 目标数组剩余空间不足
+     */
+    public int formatTo(long epochMillis, char[] dest, int offset) {
+        if (offset < 0 || offset > dest.length - length) {
+            throw new IndexOutOfBoundsException("Not enough space at offset " + offset + " for " + length + " chars");
+        }
+        byte[] text = text(epochMillis);
+        int start = start();
+        for (int i = 0; i < length; i++) {
+            dest[offset + i] = (char) text[start + i];
+        }
+        return offset + length;
+    }
+
+    /**
+     * 将时间戳格式化后以ASCII编码写入字节数组，结果同时也是合法的UTF-8。
+     *
+     * @param epochMillis 毫秒时间戳
+     * @param dest        写入的目标数组
+     * @param offset      写入的起始位置
+     * @return 写入结束的位置
+     * @throws DateTimeException         年份超出0001~9999
+     * @throws IndexOutOfBoundsException 目标数组剩余空间不足
+     */
+    public int formatTo(long epochMillis, byte[] dest, int offset) {
+        System.arraycopy(text(epochMillis), start(), dest, offset, length);
+        return offset + length;
+    }
+
+    private int start() {
+        return kind == TIME ? TIME_OFFSET : 0;
+    }
+
+    /**
+     * 获取包含格式化结果的缓存数组，日期格式返回日期缓存，其余返回秒缓存。
+     */
+    private byte[] text(long epochMillis) {
+        if (kind == DATE) {
+            return day(epochMillis).date;
+        }
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        Second s = second;
+        if (s == null || s.epochSecond != epochSecond) {
+            Day d = day(epochMillis);
+            byte[] text = new byte[DATE_TIME_LENGTH];
+            System.arraycopy(d.date, 0, text, 0, DATE_LENGTH);
+            text[DATE_LENGTH] = ' ';
+            int secondOfDay = (int) (Math.floorMod(epochMillis + d.offsetMillis, MILLIS_PER_DAY) / 1000);
+            writeTwoDigits(text, TIME_OFFSET, secondOfDay / 3600);
+            text[TIME_OFFSET + 2] = ':';
+            writeTwoDigits(text, TIME_OFFSET + 3, secondOfDay / 60 % 60);
+            text[TIME_OFFSET + 5] = ':';
+            writeTwoDigits(text, TIME_OFFSET + 6, secondOfDay % 60);
+            s = new Second(epochSecond, text);
+            second = s;
+        }
+        return s.text;
+    }
+
+    /**
+     * 获取时间戳所在的日期缓存，不命中时按时区规则计算日期和偏移量都不变的区间。
+     */
+    private Day day(long epochMillis) {
+        Day d = day;
+        if (d != null && epochMillis >= d.start && epochMillis < d.end) {
+            return d;
+        }
+        Instant instant = Instant.ofEpochMilli(epochMillis);
+        int offsetMillis = rules.getOffset(instant).getTotalSeconds() * 1000;
+        long localDay = Math.floorDiv(epochMillis + offsetMillis, MILLIS_PER_DAY);
+        LocalDate date = LocalDate.ofEpochDay(localDay);
+        if (date.getYear() < 1 || date.getYear() > 9999) {
+            throw new DateTimeException("Year out of range: " + date.getYear());
+        }
+        long start = localDay * MILLIS_PER_DAY - offsetMillis;
+        long end = start + MILLIS_PER_DAY;
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1));
+        if (previous != null && previous.toEpochSecond() * 1000 > start) {
+            start = previous.toEpochSecond() * 1000;
+        }
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        if (next != null && next.toEpochSecond() * 1000 < end) {
+            end = next.toEpochSecond() * 1000;
+        }
+        byte[] text = new byte[DATE_LENGTH];
+        int year = date.getYear();
+        writeTwoDigits(text, 0, year / 100);
+        writeTwoDigits(text, 2, year % 100);
+        text[4] = '/';
+        writeTwoDigits(text, 5, date.getMonthValue());
+        text[7] = '/';
+        writeTwoDigits(text, 8, date.getDayOfMonth());
+        d = new Day(start, end, offsetMillis, text);
+        day = d;
+        return d;
+    }
+
+    private static void writeTwoDigits(byte[] dest, int offset, int value) {
+        dest[offset] = (byte) ('0' + value / 10);
+        dest[offset + 1] = (byte) ('0' + value % 10);
+    }
+
+    /**
+     * 日期和时区偏移量都不变的时间区间，以及格式化后的日期
+     */
+    private static final class Day {
+        final long start;
+        final long end;
+        final int offsetMillis;
+        final byte[] date;
+
+        Day(long start, long end, int offsetMillis, byte[] date) {
+            this.start = start;
+            this.end = end;
+            this.offsetMillis = offsetMillis;
+            this.date = date;
+        }
+    }
+
+    /**
+     * 某一秒格式化后的完整时间
+     */
+    private static final class Second {
+        final long epochSecond;
+        final byte[] text;
+
+        Second(long epochSecond, byte[] text) {
+            this.epochSecond = epochSecond;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package dantesyh.utils;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 多格式时间解析器，配置一组格式后自动识别输入使用的格式，格式都不匹配时不会逐个抛出和捕获异常。
+ * <p>
+ * 只由定宽数字字段（yyyy、uuuu、MM、dd、HH、mm、ss、S~SSSSSSSSS）和字面量组成的格式在创建时编译为固定布局，
+ * 解析时按输入长度和分隔符位置直接选出候选布局，并手工解析数字；同一长度和分隔符位置有多个候选时按配置顺序尝试，
+ * 数值不合法（例如13月）时继续尝试下一个，数值范围手工校验，不抛出也不捕获异常。
+ * 其余格式在数字布局都不匹配时按配置顺序交给严格解析的{@link DateTimeFormatter}，使用不抛出异常的预解析排除不匹配的格式。
+ * <p>
+ * 两种方式使用同一套规则：缺少的字段取1970-01-01 00:00:00；不存在的日期（例如2月30日）不匹配；{@code yyyy}是公元纪年，不接受0年，
+ * {@code uuuu}接受；落在夏令时跳过区间的本地时间向后顺延；带时区或偏移量的输入换算到解析器的时区。
+ * 通过{@link TimeUtils#timestampParser(String...)}等方法获取，实例不可变，可在多线程间共享。
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+public final class TimestampParser {
+    private final ZoneId zone;
+
+    /**
+     * 解析器时区的规则，固定偏移量时为null，数字布局的结果不需要检查夏令时
+     */
+    private final ZoneRules rules;
+
+    /**
+     * 按输入长度索引的数字布局，同一长度内保持配置顺序
+     */
+    private final Layout[][] layoutsByLength;
+
+    /**
+     * 无法编译为数字布局的格式，按配置顺序排列
+     */
+    private final DateTimeFormatter[] formatters;
+
+    /**
+     * 与{@link #formatters}一一对应的格式字符串
+     */
+    private final String[] formatterPatterns;
+
+    TimestampParser(ZoneId zone, String... patterns) {
+        if (patterns.length == 0) {
+            throw new IllegalArgumentException("At least one pattern is required");
+        }
+        this.zone = zone;
+        this.rules = zone.getRules().isFixedOffset() ? null : zone.getRules();
+        List<Layout> layouts = new ArrayList<>();
+        List<DateTimeFormatter> others = new ArrayList<>();
+        List<String> otherPatterns = new ArrayList<>();
+        int maxLength = 0;
+        for (String pattern : patterns) {
+            DateTimeFormatter formatter = TimeUtils.parser(pattern);
+            Layout layout = Layout.compile(pattern);
+            if (layout == null) {
+                others.add(formatter);
+                otherPatterns.add(pattern);
+            } else {
+                layouts.add(layout);
+                maxLength = Math.max(maxLength, layout.literals.length);
+            }
+        }
+        this.layoutsByLength = new Layout[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            int len = length;
+            Layout[] candidates = layouts.stream().filter(layout -> layout.literals.length == len).toArray(Layout[]::new);
+            layoutsByLength[length] = candidates.length == 0 ? null : candidates;
+        }
+        this.formatters = others.toArray(new DateTimeFormatter[0]);
+        this.formatterPatterns = otherPatterns.toArray(new String[0]);
+    }
+
+    /**
+     * 解析时间字符串为解析器时区下的本地时间。
+     *
+     * @param text 时间字符串
+     * @return 本地时间
+     * @throws ParseException 没有匹配的格式
+     */
+    public LocalDateTime parse(CharSequence text) throws ParseException {
+        LocalDateTime dateTime = parseLayout(text);
+        if (dateTime != null) {
+            return dateTime;
+        }
+        return parseFormatters(text).toLocalDateTime();
+    }
+
+    /**
+     * 解析时间字符串为毫秒时间戳，不带时区的输入按解析器的时区解释，带时区或偏移量的输入使用其自身的偏移量，
+     * 夏令时结束时重复的本地时间也能得到正确的时刻。
+     *
+     * @param text 时间字符串
+     * @return 毫秒时间戳
+     * @throws ParseException 没有匹配的格式
+     */
+    public long parseEpochMillis(CharSequence text) throws ParseException {
+        // 数字布局不含时区，按本地时间换算
+        LocalDateTime dateTime = parseLayout(text);
+        if (dateTime == null) {
+            return parseFormatters(text).toInstant().toEpochMilli();
+        }
+        if (zone instanceof ZoneOffset offset) {
+            return dateTime.toEpochSecond(offset) * 1000 + dateTime.getNano() / 1_000_000;
+        }
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 获取输入匹配的格式，不执行完整解析。
+     *
+     * @param text 时间字符串
+     * @return 匹配的格式字符串，没有匹配时返回null
+     */
+    public String patternOf(CharSequence text) {
+        Layout[] candidates = candidates(text);
+        if (candidates != null) {
+            for (Layout layout : candidates) {
+                if (layout.matches(text) && layout.toDateTime(text) != null) {
+                    return layout.pattern;
+                }
+            }
+        }
+        for (int i = 0; i < formatters.length; i++) {
+            if (resolve(formatters[i], text) != null) {
+                return formatterPatterns[i];
+            }
+        }
+        return null;
+    }
+
+    private Layout[] candidates(CharSequence text) {
+        int length = text.length();
+        return length < layoutsByLength.length ? layoutsByLength[length] : null;
+    }
+
+    private LocalDateTime parseLayout(CharSequence text) {
+        Layout[] candidates = candidates(text);
+        if (candidates == null) {
+            return null;
+        }
+        for (Layout layout : candidates) {
+            if (layout.matches(text)) {
+                LocalDateTime dateTime = layout.toDateTime(text);
+                if (dateTime != null) {
+                    return adjustGap(dateTime);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 与{@link java.time.ZonedDateTime#of(LocalDateTime, ZoneId)}一致，夏令时跳过的本地时间向后顺延跳过的时长。
+     */
+    private LocalDateTime adjustGap(LocalDateTime dateTime) {
+        if (rules == null) {
+            return dateTime;
+        }
+        ZoneOffsetTransition transition = rules.getTransition(dateTime);
+        if (transition == null || !transition.isGap()) {
+            return dateTime;
+        }
+        return dateTime.plusSeconds(transition.getDuration().getSeconds());
+    }
+
+    private ZonedDateTime parseFormatters(CharSequence text) throws ParseException {
+        for (DateTimeFormatter formatter : formatters) {
+            ZonedDateTime dateTime = resolve(formatter, text);
+            if (dateTime != null) {
+                return dateTime;
+            }
+        }
+        throw new ParseException("No pattern matches: " + text, 0);
+    }
+
+    /**
+     * 先用不抛出异常的预解析检查是否匹配，匹配时再完整解析并换算到解析器的时区。
+     *
+     * @return 解析器时区的时间，保留输入表示的时刻；不匹配或数值不合法时返回null
+     */
+    private ZonedDateTime resolve(DateTimeFormatter formatter, CharSequence text) {
+        ParsePosition position = new ParsePosition(0);
+        if (formatter.parseUnresolved(text, position) == null || position.getIndex() != text.length()) {
+            return null;
+        }
+        try {
+            TemporalAccessor parsed = formatter.parse(text);
+            return TimeUtils.resolve(parsed, zone);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 由定宽数字字段和字面量组成的格式布局
+     */
+    private static final class Layout {
+        private static final char DIGIT = 0;
+
+        final String pattern;
+
+        /**
+         * 每个位置的字面量，数字位置为{@link #DIGIT}
+         */
+        char[] literals;
+
+        int year = -1;
+        /**
+         * 年份是否为公元纪年（yyyy），公元纪年没有0年
+         */
+        boolean yearOfEra;
+        int month = -1;
+        int day = -1;
+        int hour = -1;
+        int minute = -1;
+        int second = -1;
+        int fraction = -1;
+        int fractionWidth;
+
+        private Layout(String pattern) {
+            this.pattern = pattern;
+        }
+
+        /**
+         * 编译格式字符串，包含定宽数字字段以外的字段时返回null。
+         */
+        static Layout compile(String pattern) {
+            Layout layout = new Layout(pattern);
+            StringBuilder literals = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                if (c == '\'') {
+                    // 两个连续单引号表示一个单引号，无论是否在引号内
+                    if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                        literals.append('\'');
+                        i += 2;
+                    } else {
+                        quoted = !quoted;
+                        i++;
+                    }
+                    continue;
+                }
+                if (!quoted && ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))) {
+                    int count = 1;
+                    while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                        count++;
+                    }
+                    if (!layout.field(c, count, literals.length())) {
+                        return null;
+                    }
+                    for (int j = 0; j < count; j++) {
+                        literals.append(DIGIT);
+                    }
+                    i += count;
+                    continue;
+                }
+                if (!quoted && (c == '[' || c == ']' || c == '{' || c == '}' || c == '#')) {
+                    return null;
+                }
+                literals.append(c);
+                i++;
+            }
+            layout.literals = literals.toString().toCharArray();
+            return layout;
+        }
+
+        private boolean field(char letter, int count, int position) {
+            switch (letter) {
+                case 'y':
+                case 'u':
+                    yearOfEra = letter == 'y';
+                    return count == 4 && (year = set(year, position)) >= 0;
+                case 'M':
+                    return count == 2 && (month = set(month, position)) >= 0;
+                case 'd':
+                    return count == 2 && (day = set(day, position)) >= 0;
+                case 'H':
+                    return count == 2 && (hour = set(hour, position)) >= 0;
+                case 'm':
+                    return count == 2 && (minute = set(minute, position)) >= 0;
+                case 's':
+                    return count == 2 && (second = set(second, position)) >= 0;
+                case 'S':
+                    fractionWidth = count;
+                    return count <= 9 && (fraction = set(fraction, position)) >= 0;
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * 记录字段位置，同一字段出现两次时返回-1。
+         */
+        private static int set(int current, int position) {
+            return current >= 0 ? -1 : position;
+        }
+
+        /**
+         * 检查字面量位置和数字位置，调用前输入长度已与布局一致。
+         */
+        boolean matches(CharSequence text) {
+            for (int i = 0; i < literals.length; i++) {
+                char c = text.charAt(i);
+                char literal = literals[i];
+                if (literal == DIGIT ? c < '0' || c > '9' : c != literal) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 手工解析并校验数字字段，数值不合法时返回null。
+         */
+        LocalDateTime toDateTime(CharSequence text) {
+            int y = year >= 0 ? digits(text, year, 4) : 1970;
+            int mo = month >= 0 ? digits(text, month, 2) : 1;
+            int d = day >= 0 ? digits(text, day, 2) : 1;
+            int h = hour >= 0 ? digits(text, hour, 2) : 0;
+            int mi = minute >= 0 ? digits(text, minute, 2) : 0;
+            int sec = second >= 0 ? digits(text, second, 2) : 0;
+            if ((yearOfEra && y == 0) || mo < 1 || mo > 12 || d < 1 || d > lengthOfMonth(y, mo) || h > 23 || mi > 59 || sec > 59) {
+                return null;
+            }
+            int nano = 0;
+            if (fraction >= 0) {
+                nano = digits(text, fraction, fractionWidth);
+                for (int i = fractionWidth; i < 9; i++) {
+                    nano *= 10;
+                }
+            }
+            return LocalDateTime.of(y, mo, d, h, mi, sec, nano);
+        }
+
+        private static int lengthOfMonth(int year, int month) {
+            return switch (month) {
+                case 2 -> Year.isLeap(year) ? 29 : 28;
+                case 4, 6, 9, 11 -> 30;
+                default -> 31;
+            };
+        }
+
+        private static int digits(CharSequence text, int offset, int width) {
+            int value = 0;
+            for (int i = offset, end = offset + width; i < end; i++) {
+                value = value * 10 + (text.charAt(i) - '0');
+            }
+            return value;
+        }
+    }
+}
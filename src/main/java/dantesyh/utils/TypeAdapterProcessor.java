@@ -0,0 +1,662 @@
+package dantesyh.utils;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+
+/**
+ * 为{@link GenerateTypeAdapter}标记的类生成Gson {@code TypeAdapterFactory}的注解处理器。
+ * <p>
+ * 生成的适配器直接调用构造方法、访问字段或accessor，String和int/long/boolean等基本类型直接读写，
+ * 其他类型委托给Gson查找的适配器。生成的工厂类实现{@link GeneratedTypeAdapterFactory}，
+ * 在最后一轮与输出目录中已有的登记合并后写入{@code META-INF/services/dantesyh.utils.GeneratedTypeAdapterFactory}，
+ * 增量编译只处理部分源文件时不会丢失之前生成的工厂。
+ * <p>
+ * 处理器没有登记到{@code META-INF/services/javax.annotation.processing.Processor}，
+ * 依赖本库的运行时类路径不会自动执行注解处理。需要生成适配器的项目在编译插件中显式指定处理器：
+ * <pre>{@code
+ * <annotationProcessorPaths>
+ *     <path>
+ *         <groupId>dantesyh.utils</groupId>
+ *         <artifactId>utils-java</artifactId>
+ *         <version>${utils-java.version}</version>
+ *     </path>
+ * </annotationProcessorPaths>
+ * <annotationProcessors>
+ *     <annotationProcessor>dantesyh.utils.TypeAdapterProcessor</annotationProcessor>
+ * </annotationProcessors>
+ * }</pre>
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+@SupportedAnnotationTypes("dantesyh.utils.GenerateTypeAdapter")
+public final class TypeAdapterProcessor extends AbstractProcessor {
+    /**
+     * 生成的工厂类名后缀
+     */
+    static final String FACTORY_SUFFIX = "TypeAdapterFactory";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + GeneratedTypeAdapterFactory.class.getName();
+
+    private static final String SERIALIZED_NAME = "com.google.gson.annotations.SerializedName";
+
+    private final Set<String> factories = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateTypeAdapter.class)) {
+            TypeElement type = (TypeElement) element;
+            try {
+                factories.add(generate(type));
+            } catch (UnsupportedTypeException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element);
+            } catch (IllegalArgumentException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), type);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write type adapter: " + e, type);
+            }
+        }
+        if (roundEnv.processingOver() && !factories.isEmpty()) {
+            writeServiceFile();
+        }
+        return true;
+    }
+
+    /**
+     * 生成工厂类源文件。
+     *
+     * @return 工厂类的全限定名
+     */
+    private String generate(TypeElement type) throws IOException {
+        checkType(type);
+        boolean record = type.getKind() == ElementKind.RECORD;
+        List<Property> properties = record ? recordProperties(type) : beanProperties(type);
+        Set<String> names = new HashSet<>();
+        for (Property property : properties) {
+            for (String name : property.names) {
+                if (!names.add(name)) {
+                    throw new UnsupportedTypeException(type, type + " declares multiple JSON fields named '" + name + "'");
+                }
+            }
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String targetName = type.getQualifiedName().toString();
+        String simpleName = packageName.isEmpty() ? targetName : targetName.substring(packageName.length() + 1);
+        String factoryName = simpleName.replace('.', '_') + FACTORY_SUFFIX;
+        String qualifiedFactoryName = packageName.isEmpty() ? factoryName : packageName + "." + factoryName;
+
+        SourceBuilder src = new SourceBuilder();
+        if (!packageName.isEmpty()) {
+            src.line("package " + packageName + ";").line();
+        }
+        src.line("import com.google.gson.Gson;")
+                .line("import com.google.gson.JsonParseException;")
+                .line("import com.google.gson.JsonSyntaxException;")
+                .line("import com.google.gson.TypeAdapter;")
+                .line("import com.google.gson.reflect.TypeToken;")
+                .line("import com.google.gson.stream.JsonReader;")
+                .line("import com.google.gson.stream.JsonToken;")
+                .line("import com.google.gson.stream.JsonWriter;")
+                .line()
+                .line("import java.io.IOException;")
+                .line()
+                .line("@javax.annotation.processing.Generated(\"" + TypeAdapterProcessor.class.getName() + "\")")
+                .open("public final class " + factoryName + " implements " + GeneratedTypeAdapterFactory.class.getName())
+                .line("@Override")
+                .line("@SuppressWarnings(\"unchecked\")")
+                .open("public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type)")
+                .open("if (type.getRawType() != " + targetName + ".class)")
+                .line("return null;")
+                .close()
+                .line("return (TypeAdapter<T>) new Adapter(gson);")
+                .close()
+                .line();
+
+        src.open("private static final class Adapter extends TypeAdapter<" + targetName + ">")
+                .line("private final Gson gson;");
+        for (Property property : properties) {
+            if (property.kind == Kind.ADAPTER || property.kind == Kind.DOUBLE) {
+                src.line("private final TypeAdapter<" + boxedName(property.type) + "> " + property.adapter() + ";");
+            }
+        }
+        src.line().open("Adapter(Gson gson)").line("this.gson = gson;");
+        for (Property property : properties) {
+            if (property.kind == Kind.ADAPTER || property.kind == Kind.DOUBLE) {
+                String name = typeName(property.type);
+                String token = name.contains("<") ? "new TypeToken<" + name + ">() {}" : boxedName(property.type) + ".class";
+                if (property.type.getKind().isPrimitive()) {
+                    token = name + ".class";
+                }
+                src.line("this." + property.adapter() + " = gson.getAdapter(" + token + ");");
+            }
+        }
+        src.close().line();
+
+        writeMethod(src, targetName, properties);
+        src.line();
+        readMethod(src, targetName, properties, record);
+        src.close().close();
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedFactoryName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(src.toString());
+        }
+        return qualifiedFactoryName;
+    }
+
+    private void writeMethod(SourceBuilder src, String targetName, List<Property> properties) {
+        src.line("@Override")
+                .line("@SuppressWarnings(\"unchecked\")")
+                .open("public void write(JsonWriter out, " + targetName + " value) throws IOException")
+                .open("if (value == null)")
+                .line("out.nullValue();")
+                .line("return;")
+                .close()
+                .line("out.beginObject();");
+        for (Property property : properties) {
+            src.line("out.name(\"" + escape(property.names.get(0)) + "\");");
+            String getter = property.getter;
+            switch (property.kind) {
+                case STRING, INT, LONG, BOOLEAN -> src.line("out.value(" + getter + ");");
+                case DOUBLE -> src.line(property.adapter() + ".write(out, " + getter + ");");
+                case ADAPTER -> {
+                    if (property.runtimeType) {
+                        // 与Gson一致，字段值是声明类型的子类时按运行时类型写出
+                        String local = "v" + property.index;
+                        src.line(typeName(property.type) + " " + local + " = " + getter + ";")
+                                .open("if (" + local + " != null && " + local + ".getClass() != " + typeName(property.type) + ".class)")
+                                .line("((TypeAdapter<Object>) gson.getAdapter(" + local + ".getClass())).write(out, " + local + ");")
+                                .next("else")
+                                .line(property.adapter() + ".write(out, " + local + ");")
+                                .close();
+                    } else {
+                        src.line(property.adapter() + ".write(out, " + getter + ");");
+                    }
+                }
+            }
+        }
+        src.line("out.endObject();").close();
+    }
+
+    private void readMethod(SourceBuilder src, String targetName, List<Property> properties, boolean record) {
+        src.line("@Override")
+                .open("public " + targetName + " read(JsonReader in) throws IOException")
+                .open("if (in.peek() == JsonToken.NULL)")
+                .line("in.nextNull();")
+                .line("return null;")
+                .close();
+        if (record) {
+            for (Property property : properties) {
+                src.line(typeName(property.type) + " " + property.local() + " = " + defaultValue(property.type) + ";");
+            }
+        } else {
+            src.line(targetName + " result = new " + targetName + "();");
+        }
+        src.line("in.beginObject();")
+                .open("while (in.hasNext())")
+                .open("switch (in.nextName())");
+        for (Property property : properties) {
+            StringBuilder labels = new StringBuilder();
+            for (String name : property.names) {
+                labels.append(labels.length() == 0 ? "" : ", ").append('"').append(escape(name)).append('"');
+            }
+            src.open("case " + labels + " ->");
+            String value = readExpression(property);
+            boolean primitive = property.type.getKind().isPrimitive();
+            if (primitive) {
+                src.open("if (in.peek() == JsonToken.NULL)").line("in.nextNull();");
+                if (record) {
+                    src.line("throw new JsonParseException(\"null is not allowed as value for record component '"
+                            + escape(property.names.get(0)) + "' of primitive type; at path \" + in.getPreviousPath());");
+                }
+                src.next("else");
+            }
+            if (property.kind == Kind.INT || property.kind == Kind.LONG) {
+                src.open("try").line(assign(property, value, record))
+                        .next("catch (NumberFormatException e)").line("throw new JsonSyntaxException(e);").close();
+            } else if (property.kind == Kind.DOUBLE) {
+                src.line(assign(property, "in.nextDouble()", record));
+            } else {
+                src.line(assign(property, value, record));
+            }
+            if (primitive) {
+                src.close();
+            }
+            src.close();
+        }
+        src.line("default -> in.skipValue();")
+                .close()
+                .close()
+                .line("in.endObject();");
+        if (record) {
+            StringBuilder args = new StringBuilder();
+            for (Property property : properties) {
+                args.append(args.length() == 0 ? "" : ", ").append(property.local());
+            }
+            src.line("return new " + targetName + "(" + args + ");");
+        } else {
+            src.line("return result;");
+        }
+        src.close();
+        if (properties.stream().anyMatch(property -> property.kind == Kind.STRING)) {
+            // 与Gson的String适配器一致，布尔值按字符串读取
+            src.line()
+                    .open("private static String readString(JsonReader in) throws IOException")
+                    .line("JsonToken token = in.peek();")
+                    .open("if (token == JsonToken.NULL)")
+                    .line("in.nextNull();")
+                    .line("return null;")
+                    .close()
+                    .line("return token == JsonToken.BOOLEAN ? Boolean.toString(in.nextBoolean()) : in.nextString();")
+                    .close();
+        }
+    }
+
+    private String readExpression(Property property) {
+        return switch (property.kind) {
+            case STRING -> "readString(in)";
+            case INT -> "in.nextInt()";
+            case LONG -> "in.nextLong()";
+            case BOOLEAN -> "in.peek() == JsonToken.STRING ? Boolean.parseBoolean(in.nextString()) : in.nextBoolean()";
+            case DOUBLE -> "in.nextDouble()";
+            case ADAPTER -> property.adapter() + ".read(in)";
+        };
+    }
+
+    private static String assign(Property property, String value, boolean record) {
+        if (record) {
+            return property.local() + " = " + value + ";";
+        }
+        return property.setter.apply(value) + ";";
+    }
+
+    /**
+     * 检查类是否能生成适配器。
+     */
+    private void checkType(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS && type.getKind() != ElementKind.RECORD) {
+            throw new UnsupportedTypeException(type, "@GenerateTypeAdapter is only supported on classes and records");
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedTypeException(type, "@GenerateTypeAdapter is not supported on abstract classes");
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new UnsupportedTypeException(type, "@GenerateTypeAdapter is not supported on generic classes");
+        }
+        for (Element e = type; e instanceof TypeElement t; e = e.getEnclosingElement()) {
+            if (t.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new UnsupportedTypeException(type, t + " must not be private");
+            }
+            if (t.getNestingKind() == NestingKind.MEMBER && t.getKind() == ElementKind.CLASS
+                    && !t.getModifiers().contains(Modifier.STATIC)) {
+                throw new UnsupportedTypeException(type, t + " must be a static nested class");
+            }
+            if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS) {
+                throw new UnsupportedTypeException(type, t + " must not be a local or anonymous class");
+            }
+        }
+    }
+
+    private List<Property> recordProperties(TypeElement type) {
+        List<Property> properties = new ArrayList<>();
+        for (RecordComponentElement component : type.getRecordComponents()) {
+            VariableElement field = recordField(type, component);
+            Property property = new Property(properties.size(), names(field == null ? component : field), component.asType());
+            property.getter = "value." + component.getSimpleName() + "()";
+            properties.add(property);
+        }
+        return properties;
+    }
+
+    private static VariableElement recordField(TypeElement type, RecordComponentElement component) {
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getSimpleName().equals(component.getSimpleName())) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 收集普通类及其父类的实例字段，顺序与Gson反射适配器一致：先子类，后父类。
+     */
+    private List<Property> beanProperties(TypeElement type) {
+        PackageElement targetPackage = processingEnv.getElementUtils().getPackageOf(type);
+        boolean hasConstructor = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                hasConstructor = true;
+            }
+        }
+        if (!hasConstructor) {
+            throw new UnsupportedTypeException(type, type + " must declare a non-private no-args constructor");
+        }
+
+        List<Property> properties = new ArrayList<>();
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                Property property = new Property(properties.size(), names(field), field.asType());
+                String fieldName = field.getSimpleName().toString();
+                boolean accessible = accessible(field, targetPackage);
+                if (accessible && !modifiers.contains(Modifier.FINAL)) {
+                    property.getter = "value." + fieldName;
+                    property.setter = value -> "result." + fieldName + " = " + value;
+                } else {
+                    ExecutableElement getter = accessor(current, targetPackage, field, fieldName, true);
+                    ExecutableElement setter = accessor(current, targetPackage, field, fieldName, false);
+                    if (setter == null || (getter == null && !accessible)) {
+                        throw new UnsupportedTypeException(field, "Field " + fieldName + " of " + type
+                                + " must be non-private and non-final, or have accessible getter and setter");
+                    }
+                    property.getter = getter == null ? "value." + fieldName : "value." + getter.getSimpleName() + "()";
+                    String setterName = setter.getSimpleName().toString();
+                    property.setter = value -> "result." + setterName + "(" + value + ")";
+                }
+                properties.add(property);
+            }
+        }
+        return properties;
+    }
+
+    private static TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    private ExecutableElement accessor(TypeElement owner, PackageElement targetPackage, VariableElement field,
+                                       String fieldName, boolean getter) {
+        String suffix = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        for (ExecutableElement method : ElementFilter.methodsIn(owner.getEnclosedElements())) {
+            String name = method.getSimpleName().toString();
+            if (method.getModifiers().contains(Modifier.STATIC) || !accessible(method, targetPackage)) {
+                continue;
+            }
+            if (getter && method.getParameters().isEmpty()
+                    && processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType())
+                    && (name.equals("get" + suffix) || (field.asType().getKind() == TypeKind.BOOLEAN && name.equals("is" + suffix)))) {
+                return method;
+            }
+            if (!getter && method.getParameters().size() == 1 && name.equals("set" + suffix)
+                    && processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), field.asType())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private boolean accessible(Element member, PackageElement targetPackage) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        return !modifiers.contains(Modifier.PRIVATE)
+                && processingEnv.getElementUtils().getPackageOf(member).equals(targetPackage);
+    }
+
+    /**
+     * 读取{@code @SerializedName}，第一个是写出时使用的名称，其余是读取时接受的备用名称。
+     */
+    private static List<String> names(Element element) {
+        List<String> names = new ArrayList<>();
+        names.add(element.getSimpleName().toString());
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (!((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(SERIALIZED_NAME)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                String key = entry.getKey().getSimpleName().toString();
+                if (key.equals("value")) {
+                    names.set(0, (String) entry.getValue().getValue());
+                } else if (key.equals("alternate")) {
+                    for (Object alternate : (List<?>) entry.getValue().getValue()) {
+                        names.add((String) ((AnnotationValue) alternate).getValue());
+                    }
+                }
+            }
+        }
+        return names;
+    }
+
+    private void writeServiceFile() {
+        // 增量编译时输出目录中已有其他轮次生成的工厂，合并后再写入；已删除的类在运行时加载失败后跳过
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(existing.openReader(true))) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    int comment = line.indexOf('#');
+                    String name = (comment < 0 ? line : line.substring(0, comment)).trim();
+                    if (!name.isEmpty()) {
+                        factories.add(name);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // 首次编译时文件不存在
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String factory : factories) {
+                    writer.write(factory);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + SERVICE_FILE + ": " + e);
+        }
+    }
+
+    /**
+     * 类型的源码写法，不包含类型注解。
+     */
+    private static String typeName(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN, BYTE, SHORT, INT, LONG, CHAR, FLOAT, DOUBLE -> type.getKind().name().toLowerCase(Locale.ROOT);
+            case ARRAY -> typeName(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED -> {
+                DeclaredType declared = (DeclaredType) type;
+                StringBuilder name = new StringBuilder(((TypeElement) declared.asElement()).getQualifiedName());
+                if (!declared.getTypeArguments().isEmpty()) {
+                    name.append('<');
+                    for (int i = 0; i < declared.getTypeArguments().size(); i++) {
+                        name.append(i == 0 ? "" : ", ").append(typeName(declared.getTypeArguments().get(i)));
+                    }
+                    name.append('>');
+                }
+                yield name.toString();
+            }
+            case WILDCARD -> {
+                WildcardType wildcard = (WildcardType) type;
+                if (wildcard.getExtendsBound() != null) {
+                    yield "? extends " + typeName(wildcard.getExtendsBound());
+                }
+                yield wildcard.getSuperBound() != null ? "? super " + typeName(wildcard.getSuperBound()) : "?";
+            }
+            default -> throw new IllegalArgumentException("Unsupported field type: " + type);
+        };
+    }
+
+    private static String boxedName(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "Boolean";
+            case BYTE -> "Byte";
+            case SHORT -> "Short";
+            case INT -> "Integer";
+            case LONG -> "Long";
+            case CHAR -> "Character";
+            case FLOAT -> "Float";
+            case DOUBLE -> "Double";
+            default -> typeName(type);
+        };
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "false";
+            case BYTE, SHORT, INT, CHAR -> "0";
+            case LONG -> "0L";
+            case FLOAT -> "0F";
+            case DOUBLE -> "0D";
+            default -> "null";
+        };
+    }
+
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * 字段的读写方式
+     */
+    private enum Kind {
+        STRING, INT, LONG, BOOLEAN, DOUBLE, ADAPTER
+    }
+
+    private static final class Property {
+        private final int index;
+        private final List<String> names;
+        private final TypeMirror type;
+        private final Kind kind;
+        /**
+         * 声明类型不是参数化类型且可能有子类时，写出时按运行时类型查找适配器
+         */
+        private final boolean runtimeType;
+        private String getter;
+        /**
+         * 由读取值的表达式生成赋值语句
+         */
+        private UnaryOperator<String> setter;
+
+        private Property(int index, List<String> names, TypeMirror type) {
+            this.index = index;
+            this.names = names;
+            this.type = type;
+            this.kind = switch (type.getKind()) {
+                case INT -> Kind.INT;
+                case LONG -> Kind.LONG;
+                case BOOLEAN -> Kind.BOOLEAN;
+                case DOUBLE -> Kind.DOUBLE;
+                case DECLARED -> typeName(type).equals("java.lang.String") ? Kind.STRING : Kind.ADAPTER;
+                default -> Kind.ADAPTER;
+            };
+            this.runtimeType = type.getKind() == TypeKind.DECLARED && kind == Kind.ADAPTER
+                    && ((DeclaredType) type).getTypeArguments().isEmpty()
+                    && !((DeclaredType) type).asElement().getModifiers().contains(Modifier.FINAL)
+                    && ((DeclaredType) type).asElement().getKind() != ElementKind.ENUM
+                    && ((DeclaredType) type).asElement().getKind() != ElementKind.RECORD;
+        }
+
+        private String adapter() {
+            return "a" + index;
+        }
+
+        private String local() {
+            return "p" + index;
+        }
+    }
+
+    /**
+     * 按缩进生成源码
+     */
+    private static final class SourceBuilder {
+        private final StringBuilder sb = new StringBuilder();
+        private int indent;
+
+        SourceBuilder line() {
+            sb.append('\n');
+            return this;
+        }
+
+        SourceBuilder line(String line) {
+            for (String part : line.split("\n")) {
+                sb.append("    ".repeat(indent)).append(part).append('\n');
+            }
+            return this;
+        }
+
+        SourceBuilder open(String line) {
+            line(line + " {");
+            indent++;
+            return this;
+        }
+
+        SourceBuilder next(String line) {
+            indent--;
+            line("} " + line + " {");
+            indent++;
+            return this;
+        }
+
+        SourceBuilder close() {
+            indent--;
+            return line("}");
+        }
+
+        @Override
+        public String toString() {
+            return sb.toString();
+        }
+    }
+
+    /**
+     * 类或字段不满足生成条件
+     */
+    private static final class UnsupportedTypeException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Element element;
+
+        private UnsupportedTypeException(Element element, String message) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
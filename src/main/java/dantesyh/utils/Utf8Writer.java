@@ -0,0 +1,187 @@
+package dantesyh.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * 直接将字符编码为UTF-8字节的Writer，每个线程复用一个实例及其字节缓冲区。
+ * <p>
+ * 有输出目标时缓冲区写满即写出；没有输出目标时缓冲区自动扩容，用于生成字节数组。
+ * {@link #flush()}只写出缓冲区，不刷新也不关闭输出目标。
+ *
+ * @author dante
+ * @since 2026/10/18
+ */
+final class Utf8Writer extends Writer {
+    /**
+     * 默认缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * 归还时保留的最大缓冲区大小，超过时丢弃以免长期占用内存
+     */
+    private static final int MAX_RETAINED_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<Utf8Writer> WRITERS = ThreadLocal.withInitial(Utf8Writer::new);
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int count;
+    private char pendingHighSurrogate;
+    private OutputStream out;
+    private WritableByteChannel channel;
+    private boolean inUse;
+
+    private Utf8Writer() {
+    }
+
+    /**
+     * 获取当前线程的Writer，写入输出流。
+     */
+    static Utf8Writer acquire(OutputStream out) {
+        Utf8Writer writer = acquire();
+        writer.out = out;
+        return writer;
+    }
+
+    /**
+     * 获取当前线程的Writer，写入通道。
+     */
+    static Utf8Writer acquire(WritableByteChannel channel) {
+        Utf8Writer writer = acquire();
+        writer.channel = channel;
+        return writer;
+    }
+
+    /**
+     * 获取当前线程的Writer，写入自动扩容的缓冲区。
+     */
+    static Utf8Writer acquire() {
+        Utf8Writer writer = WRITERS.get();
+        if (writer.inUse) {
+            // 序列化过程中嵌套调用时使用新的实例
+            writer = new Utf8Writer();
+        }
+        writer.inUse = true;
+        return writer;
+    }
+
+    /**
+     * 归还Writer，清空状态以便复用。
+     */
+    void release() {
+        out = null;
+        channel = null;
+        count = 0;
+        pendingHighSurrogate = 0;
+        if (buffer.length > MAX_RETAINED_SIZE) {
+            buffer = new byte[BUFFER_SIZE];
+        }
+        inUse = false;
+    }
+
+    /**
+     * 复制已写入的字节。
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        writeChar((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off, end = off + len; i < end; i++) {
+            char c = cbuf[i];
+            if (c < 0x80 && pendingHighSurrogate == 0) {
+                ensureCapacity(1);
+                buffer[count++] = (byte) c;
+            } else {
+                writeChar(c);
+            }
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        for (int i = off, end = off + len; i < end; i++) {
+            char c = str.charAt(i);
+            if (c < 0x80 && pendingHighSurrogate == 0) {
+                ensureCapacity(1);
+                buffer[count++] = (byte) c;
+            } else {
+                writeChar(c);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.write(buffer, 0, count);
+            count = 0;
+        } else if (channel != null) {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, count);
+            while (byteBuffer.hasRemaining()) {
+                channel.write(byteBuffer);
+            }
+            count = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private void writeChar(char c) throws IOException {
+        ensureCapacity(4);
+        if (pendingHighSurrogate != 0) {
+            char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+                return;
+            }
+            // 孤立的高代理项按String.getBytes的规则替换为问号
+            buffer[count++] = '?';
+            ensureCapacity(4);
+        }
+        if (c < 0x80) {
+            buffer[count++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[count++] = (byte) (0xC0 | (c >> 6));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer[count++] = '?';
+        } else {
+            buffer[count++] = (byte) (0xE0 | (c >> 12));
+            buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void ensureCapacity(int n) throws IOException {
+        if (count + n <= buffer.length) {
+            return;
+        }
+        if (out != null || channel != null) {
+            flush();
+        } else {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + n));
+        }
+    }
+}
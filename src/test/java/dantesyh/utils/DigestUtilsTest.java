@@ -0,0 +1,202 @@
+package dantesyh.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author dante
+ * @since 2026/10/18
+ */
+class DigestUtilsTest {
+
+    @Test
+    void digest(@TempDir Path dir) throws NoSuchAlgorithmException, IOException {
+        byte[] abc = "abc".getBytes(StandardCharsets.UTF_8);
+        String expected = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+        assertEquals(expected, DigestUtils.sha256Hex(abc));
+        assertEquals(expected, DigestUtils.toHex(DigestUtils.digest(DigestUtils.SHA_256, ByteBuffer.wrap(abc))));
+
+        byte[] data = new byte[3 * 1024 * 1024 + 17];
+        new Random(1).nextBytes(data);
+        Path path = Files.write(dir.resolve("data"), data);
+        byte[] digest = DigestUtils.digest(DigestUtils.SHA_256, data);
+        assertArrayEquals(digest, DigestUtils.digest(DigestUtils.SHA_256, path));
+        assertArrayEquals(digest, DigestUtils.digest(DigestUtils.SHA_256, new ByteArrayInputStream(data)));
+    }
+
+    @Test
+    void treeDigest(@TempDir Path dir) throws NoSuchAlgorithmException, IOException {
+        byte[] data = new byte[1024 * 1024 + 5];
+        new Random(2).nextBytes(data);
+        Path path = Files.write(dir.resolve("data"), data);
+
+        byte[] tree = DigestUtils.treeDigest(DigestUtils.SHA_256, path, 64 * 1024);
+        assertArrayEquals(tree, DigestUtils.treeDigest(DigestUtils.SHA_256, path, 64 * 1024));
+        assertFalse(Arrays.equals(tree, DigestUtils.treeDigest(DigestUtils.SHA_256, path, 128 * 1024)));
+
+        data[data.length - 1] ^= 1;
+        Files.write(path, data);
+        assertFalse(Arrays.equals(tree, DigestUtils.treeDigest(DigestUtils.SHA_256, path, 64 * 1024)));
+    }
+
+    @Test
+    void treeDigestFailure(@TempDir Path dir) throws NoSuchAlgorithmException, IOException {
+        byte[] data = new byte[1024 * 1024];
+        new Random(3).nextBytes(data);
+        Path path = Files.write(dir.resolve("data"), data);
+        byte[] expected = DigestUtils.treeDigest(DigestUtils.SHA_256, path, 16 * 1024);
+
+        // 一半分块读取失败，失败的叶子摘要已写入前缀
+        try (FileChannel channel = new FailingChannel(FileChannel.open(path, StandardOpenOption.READ), 16 * 1024)) {
+            assertThrows(IOException.class, () -> DigestUtils.treeDigest(DigestUtils.SHA_256, channel, 16 * 1024));
+        }
+
+        // 同一批线程上之后的摘要不受影响
+        String abc = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+        byte[] input = "abc".getBytes(StandardCharsets.UTF_8);
+        assertEquals(0, IntStream.range(0, 10_000).parallel().filter(i -> {
+            try {
+                return !abc.equals(DigestUtils.sha256Hex(input));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }).count());
+        assertArrayEquals(expected, DigestUtils.treeDigest(DigestUtils.SHA_256, path, 16 * 1024));
+    }
+
+    /**
+     * 奇数分块映射失败的文件通道
+     */
+    private static final class FailingChannel extends FileChannel {
+        private final FileChannel delegate;
+        private final int chunkSize;
+
+        FailingChannel(FileChannel delegate, int chunkSize) {
+            this.delegate = delegate;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            if (position / chunkSize % 2 == 1) {
+                throw new IOException("Simulated read failure at " + position);
+            }
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+
+    @Test
+    void hmac(@TempDir Path dir) throws NoSuchAlgorithmException, InvalidKeyException, IOException {
+        // RFC 4231 测试用例2
+        byte[] key = "Jefe".getBytes(StandardCharsets.UTF_8);
+        byte[] data = "what do ya want for nothing?".getBytes(StandardCharsets.UTF_8);
+        String expected = "5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843";
+
+        assertEquals(expected, DigestUtils.toHex(DigestUtils.hmac(DigestUtils.HMAC_SHA_256, key, data)));
+        assertEquals(expected, DigestUtils.toHex(DigestUtils.hmac(DigestUtils.HMAC_SHA_256, key, new ByteArrayInputStream(data))));
+        Path path = Files.write(dir.resolve("data"), data);
+        assertEquals(expected, DigestUtils.toHex(DigestUtils.hmac(DigestUtils.HMAC_SHA_256, key, path)));
+    }
+}
@@ -1,13 +1,43 @@
 package dantesyh.utils;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author dante
@@ -17,9 +47,41 @@ class JsonUtilsTest {
     private static final Logger logger = Logger.getLogger(SecureUtils.class.getName());
 
 
+    @GenerateTypeAdapter
     record Person(String name, int age) {
     }
 
+    @GenerateTypeAdapter
+    static class Order {
+        @SerializedName(value = "order_id", alternate = "id")
+        private long orderId;
+        private String customer;
+        double amount;
+        boolean paid;
+        Integer priority;
+        List<String> tags;
+        Object extra;
+        Person owner;
+        String note$1;
+        transient String cache;
+
+        public long getOrderId() {
+            return orderId;
+        }
+
+        public void setOrderId(long orderId) {
+            this.orderId = orderId;
+        }
+
+        public String getCustomer() {
+            return customer;
+        }
+
+        public void setCustomer(String customer) {
+            this.customer = customer;
+        }
+    }
+
     @Test
     void testJson() {
         Person person = new Person("John", 30);
@@ -67,4 +129,285 @@ class JsonUtilsTest {
         assertEquals(Arrays.toString(people), Arrays.toString(people2));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void testJsonCodec() {
+        JsonCodec<Person> codec = JsonUtils.codec(Person.class);
+        assertSame(codec, JsonUtils.codec(Person.class));
+        assertSame(JsonUtils.listCodec(Person.class), JsonUtils.codec(new TypeToken<List<Person>>() {
+        }));
+
+        Type type = TypeToken.getParameterized(Map.class, Long.class, Person[].class).getType();
+        CacheStats before = JsonUtils.codecCacheStats();
+        assertSame(JsonUtils.codec(type), JsonUtils.codec(type));
+        CacheStats after = JsonUtils.codecCacheStats();
+        assertEquals(before.hitCount() + 1, after.hitCount());
+        assertEquals(before.missCount() + 1, after.missCount());
+
+        Person person = new Person("John", 30);
+        String json = codec.toJson(person);
+        assertEquals(JsonUtils.toJson(person), json);
+        assertEquals(person, codec.fromJson(json));
+
+        assertNull(codec.fromJson(""));
+        assertEquals(Integer.valueOf(5), JsonUtils.fromJson("5", int.class));
+        assertThrows(JsonSyntaxException.class, () -> codec.fromJson(json + " {}"));
+        assertEquals("null", JsonUtils.toJson(null));
+    }
+
+    @Test
+    void testGeneratedAdapter() {
+        assertSame(JsonUtilsTest_PersonTypeAdapterFactory.class, JsonUtils.codec(Person.class).adapter().getClass().getEnclosingClass());
+        assertSame(JsonUtilsTest_OrderTypeAdapterFactory.class, JsonUtils.codec(Order.class).adapter().getClass().getEnclosingClass());
+
+        // 生成的适配器与Gson反射适配器的输出一致
+        Gson reflective = new Gson();
+        Order order = new Order();
+        order.setOrderId(7);
+        order.setCustomer("张三");
+        order.amount = 12.5;
+        order.paid = true;
+        order.tags = List.of("a", "b");
+        order.extra = Map.of("k", 1);
+        order.owner = new Person("Alice", 25);
+        order.note$1 = "n";
+        order.cache = "ignored";
+        String json = JsonUtils.toJson(order);
+        assertEquals(reflective.toJson(order), json);
+
+        Order parsed = JsonUtils.fromJson(json, Order.class);
+        assertEquals(7, parsed.getOrderId());
+        assertEquals("张三", parsed.getCustomer());
+        assertEquals(12.5, parsed.amount);
+        assertTrue(parsed.paid);
+        assertNull(parsed.priority);
+        assertEquals(List.of("a", "b"), parsed.tags);
+        assertEquals(Map.of("k", 1.0), parsed.extra);
+        assertEquals(order.owner, parsed.owner);
+        assertEquals("n", parsed.note$1);
+        assertNull(parsed.cache);
+
+        assertEquals(9, JsonUtils.fromJson("{\"id\":\"9\",\"paid\":\"true\",\"unknown\":[1]}", Order.class).getOrderId());
+        assertEquals(new Person(null, 0), JsonUtils.fromJson("{}", Person.class));
+        assertThrows(JsonParseException.class, () -> JsonUtils.fromJson("{\"age\":null}", Person.class));
+        assertThrows(JsonSyntaxException.class, () -> JsonUtils.fromJson("{\"age\":\"x\"}", Person.class));
+    }
+
+    @Test
+    void testJsonBytes() throws IOException {
+        Person person = new Person("张三 \uD83D\uDE00 <b>", 30);
+        byte[] expected = JsonUtils.toJson(person).getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, JsonUtils.toJsonBytes(person));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonUtils.toJson(person, out);
+        assertArrayEquals(expected, out.toByteArray());
+
+        ByteArrayOutputStream channelOut = new ByteArrayOutputStream();
+        JsonUtils.toJson(List.of(person, person), Channels.newChannel(channelOut));
+        assertArrayEquals(JsonUtils.toJson(List.of(person, person)).getBytes(StandardCharsets.UTF_8), channelOut.toByteArray());
+
+        // 超过缓冲区大小的数据
+        String large = "数据".repeat(10_000);
+        assertArrayEquals(JsonUtils.toJson(large).getBytes(StandardCharsets.UTF_8), JsonUtils.toJsonBytes(large));
+        assertArrayEquals("null".getBytes(StandardCharsets.UTF_8), JsonUtils.toJsonBytes(null));
+    }
+
+    @Test
+    void testPrimitiveArrays() {
+        int[] ints = IntStream.range(-500, 500).map(i -> i * 100_003).toArray();
+        String json = JsonUtils.toJsonIntArray(ints);
+        assertEquals(JsonUtils.toJson(ints), json);
+        assertArrayEquals(ints, JsonUtils.fromJsonIntArray(json));
+
+        long[] longs = {Long.MIN_VALUE, -1, 0, Long.MAX_VALUE};
+        assertEquals(JsonUtils.toJson(longs), JsonUtils.toJsonLongArray(longs));
+        assertArrayEquals(longs, JsonUtils.fromJsonLongArray(
+                new ByteArrayInputStream(JsonUtils.toJsonLongArray(longs).getBytes(StandardCharsets.UTF_8))));
+
+        double[] doubles = {-0.5, 0, 1e-7, 3.141592653589793, 1e300};
+        assertEquals(JsonUtils.toJson(doubles), JsonUtils.toJsonDoubleArray(doubles));
+        assertArrayEquals(doubles, JsonUtils.fromJsonDoubleArray(new StringReader(JsonUtils.toJsonDoubleArray(doubles))));
+        assertThrows(IllegalArgumentException.class, () -> JsonUtils.toJsonDoubleArray(new double[]{Double.NaN}));
+
+        assertArrayEquals(new int[0], JsonUtils.fromJsonIntArray("[]"));
+        assertArrayEquals(new double[]{1, 2.5}, JsonUtils.fromJsonDoubleArray("[1, \"2.5\"]"));
+        assertNull(JsonUtils.fromJsonIntArray("null"));
+        assertNull(JsonUtils.fromJsonLongArray(""));
+        assertEquals("null", JsonUtils.toJsonIntArray(null));
+        assertThrows(JsonSyntaxException.class, () -> JsonUtils.fromJsonIntArray("[1, null]"));
+        assertThrows(JsonSyntaxException.class, () -> JsonUtils.fromJsonIntArray("[1, 2.5]"));
+        assertThrows(JsonSyntaxException.class, () -> JsonUtils.fromJsonIntArray("[2147483648]"));
+        assertThrows(JsonSyntaxException.class, () -> JsonUtils.fromJsonLongArray("[1] [2]"));
+    }
+
+    @Test
+    void testBinary() throws IOException {
+        List<Person> people = IntStream.range(0, 100).mapToObj(i -> new Person("Person" + i, i - 50)).toList();
+        byte[] binary = JsonUtils.toBinary(people);
+        assertTrue(binary.length < JsonUtils.toJsonBytes(people).length);
+        assertEquals(people, JsonUtils.fromBinary(binary, new TypeToken<List<Person>>() {
+        }));
+
+        Order order = new Order();
+        order.setOrderId(Long.MIN_VALUE);
+        order.setCustomer("张三 😀");
+        order.amount = -0.1;
+        order.tags = List.of();
+        order.extra = Map.of("nested", List.of(1, "x", true), "big", new BigDecimal("12345678901234567890.5"));
+        // 与经过JSON文本往返的结果一致
+        Order decoded = JsonUtils.fromBinary(JsonUtils.toBinary(order), Order.class);
+        assertEquals(JsonUtils.toJson(JsonUtils.fromJson(JsonUtils.toJson(order), Order.class)), JsonUtils.toJson(decoded));
+
+        // Map的键经过Gson的字段名提升读取，包括非字符串键
+        Map<Integer, Person> byId = Map.of(1, people.get(1), 2, people.get(2));
+        Type type = new TypeToken<Map<Integer, Person>>() {
+        }.getType();
+        assertEquals(byId, JsonUtils.fromBinary(JsonUtils.toBinary(byId), type));
+        assertEquals(JsonUtils.fromJson(JsonUtils.toJson(order.extra), JsonElement.class),
+                JsonUtils.fromBinary(JsonUtils.toBinary(order.extra), JsonElement.class));
+
+        assertNull(JsonUtils.fromBinary(JsonUtils.toBinary(null), Person.class));
+        byte[] truncated = Arrays.copyOf(binary, binary.length - 3);
+        assertThrows(JsonSyntaxException.class, () -> JsonUtils.fromBinary(truncated, new TypeToken<List<Person>>() {
+        }));
+        assertThrows(JsonSyntaxException.class, () -> JsonUtils.fromBinary(JsonUtils.toBinary("text"), Person.class));
+        byte[] trailing = Arrays.copyOf(binary, binary.length + 1);
+        assertThrows(JsonSyntaxException.class, () -> JsonUtils.fromBinary(trailing, new TypeToken<List<Person>>() {
+        }));
+
+        // 原始JSON值解析后按数据模型编码
+        BinaryJson.BinaryWriter writer = new BinaryJson.BinaryWriter();
+        writer.beginObject().name("raw").jsonValue("{\"a\":[1,2.5,\"x\",true]}").endObject();
+        assertEquals(JsonParser.parseString("{\"raw\":{\"a\":[1,2.5,\"x\",true]}}"), JsonUtils.fromBinary(writer.toByteArray(), JsonElement.class));
+        assertThrows(JsonSyntaxException.class, () -> new BinaryJson.BinaryWriter().jsonValue("{"));
+    }
+
+    @Test
+    void testJsonAsync() throws InterruptedException {
+        List<Person> people = IntStream.range(0, 10_000)
+                .mapToObj(i -> i % 1000 == 0 ? null : new Person("Person" + i, i % 100))
+                .toList();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonUtils.toJsonAsync(people, out).join();
+        assertArrayEquals(JsonUtils.toJsonBytes(people), out.toByteArray());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ByteArrayOutputStream chunked = new ByteArrayOutputStream();
+            JsonUtils.toJsonAsync(new LinkedList<>(people), chunked, executor, 7).join();
+            assertArrayEquals(out.toByteArray(), chunked.toByteArray());
+
+            // 写出在单独的执行器上运行
+            ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "test-json-writer"));
+            try {
+                List<String> writeThreads = new CopyOnWriteArrayList<>();
+                OutputStream tracked = new ByteArrayOutputStream() {
+                    @Override
+                    public synchronized void write(byte[] b, int off, int len) {
+                        writeThreads.add(Thread.currentThread().getName());
+                        super.write(b, off, len);
+                    }
+                };
+                JsonUtils.toJsonAsync(people, tracked, executor, writer, 100).join();
+                assertArrayEquals(out.toByteArray(), ((ByteArrayOutputStream) tracked).toByteArray());
+                assertEquals(Set.of("test-json-writer"), Set.copyOf(writeThreads));
+            } finally {
+                writer.shutdown();
+            }
+
+            ByteArrayOutputStream empty = new ByteArrayOutputStream();
+            JsonUtils.toJsonAsync(List.of(), empty, executor, 7).join();
+            assertEquals("[]", empty.toString(StandardCharsets.UTF_8));
+
+            OutputStream broken = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("broken");
+                }
+            };
+            CompletionException e = assertThrows(CompletionException.class,
+                    () -> JsonUtils.toJsonAsync(people, broken, executor, 100).join());
+            assertInstanceOf(IOException.class, e.getCause());
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testExtract() {
+        String json = "{\"body\":{\"items\":[1,2,3]},\"header\":{\"type\":\"order\",\"id\":42,\"tags\":[\"a\",\"b\"]},"
+                + "\"person\":{\"name\":\"Alice\",\"age\":25},\"a.b\":true}";
+        Map<String, JsonElement> values = JsonUtils.extract(json, "$.header.type", "$.header.tags[1]", "$['a.b']", "$.missing");
+        assertEquals(3, values.size());
+        assertEquals("order", values.get("$.header.type").getAsString());
+        assertEquals("b", values.get("$.header.tags[1]").getAsString());
+        assertTrue(values.get("$['a.b']").getAsBoolean());
+        // 结果按路径声明顺序排列，与字段在文档中的顺序无关
+        Map<String, JsonElement> reversed = JsonUtils.extract(json, "$['a.b']", "$.person.name", "$.header.id", "$.body.items[0]");
+        assertEquals(List.of("$['a.b']", "$.person.name", "$.header.id", "$.body.items[0]"), List.copyOf(reversed.keySet()));
+
+        assertEquals(new Person("Alice", 25), JsonUtils.extract(json, "$.person", Person.class));
+        assertEquals(42, JsonUtils.extract(json, "$.header.id", Integer.class));
+        assertNull(JsonUtils.extract(json, "$.body.items[5]", Integer.class));
+
+        // 找到所有路径后停止扫描，后面的残缺内容不会被读取
+        JsonExtractor extractor = JsonUtils.extractor("$.header.type", "$.header");
+        Map<String, JsonElement> early = extractor.extract("{\"header\":{\"type\":\"x\"},\"body\":[");
+        assertEquals("x", early.get("$.header.type").getAsString());
+        assertTrue(early.get("$.header").isJsonObject());
+
+        // 等价路径共用一个节点，结果中都要保留
+        Map<String, JsonElement> aliases = JsonUtils.extract(json, "$.header.type", "$['header']['type']", "$.header.type");
+        assertEquals(2, aliases.size());
+        assertEquals("order", aliases.get("$.header.type").getAsString());
+        assertEquals("order", aliases.get("$['header']['type']").getAsString());
+
+        assertThrows(IllegalArgumentException.class, () -> JsonUtils.extractor("header.type"));
+        assertThrows(IllegalArgumentException.class, () -> JsonUtils.extract(null, "$.header.type"));
+        assertThrows(JsonSyntaxException.class, () -> JsonUtils.extract("{\"header\":", "$.header.type"));
+    }
+
+    @Test
+    void testJsonStream(@TempDir Path dir) throws IOException {
+        Person[] people = {
+                new Person("Alice", 25),
+                new Person("Bob", 30),
+                new Person("Charlie", 22)
+        };
+        Path path = Files.writeString(dir.resolve("people.json"), JsonUtils.toJson(people));
+
+        try (Stream<Person> stream = JsonUtils.fromJsonStream(path, Person.class)) {
+            assertEquals(Arrays.asList(people), stream.toList());
+        }
+
+        Iterator<Person> iterator = JsonUtils.fromJsonIterator(new StringReader("[{\"name\":\"Alice\",\"age\":25}, {"), Person.class);
+        assertEquals(people[0], iterator.next());
+        assertThrows(JsonSyntaxException.class, iterator::next);
+
+        Iterator<Person> empty = JsonUtils.fromJsonIterator(new StringReader("[]"), Person.class);
+        assertFalse(empty.hasNext());
+    }
+
+    @Test
+    void testNdjson(@TempDir Path dir) throws IOException {
+        List<Person> people = IntStream.range(0, 50_000)
+                .mapToObj(i -> new Person("Person" + i, i % 100))
+                .toList();
+        Path path = dir.resolve("people.ndjson");
+        try (OutputStream out = Files.newOutputStream(path)) {
+            JsonUtils.toNdjson(people.stream(), out);
+        }
+        try (Stream<Person> stream = JsonUtils.fromNdjson(path, Person.class)) {
+            assertEquals(people, stream.toList());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonUtils.toNdjson(people.parallelStream(), out);
+        assertArrayEquals(Files.readAllBytes(path), out.toByteArray());
+
+        ByteBuffer buffer = ByteBuffer.wrap("{\"name\":\"Alice\",\"age\":25}\r\n\n{\"name\":\"Bob\",\"age\":30}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(List.of(new Person("Alice", 25), new Person("Bob", 30)), JsonUtils.fromNdjson(buffer, Person.class).toList());
+    }
+}
@@ -1,16 +1,37 @@
 package dantesyh.utils;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.InvalidKeyException;
+import java.security.KeyPair;
 import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
 import java.security.SignatureException;
+import java.security.interfaces.RSAPublicKey;
 import java.security.spec.InvalidKeySpecException;
+import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,6 +58,113 @@ class SecureUtilsTest {
         assertEquals(originalText, decryptedText);
     }
 
+    @Test
+    void testAesKey() throws Exception {
+        SecureUtils.AesKey aesKey = SecureUtils.AesKey.of("myseckeyeyhds");
+        String originalText = "Hello, AES Key!";
+
+        String encryptedText = aesKey.encrypt(originalText);
+        assertEquals(SecureUtils.encryptAES(originalText, "myseckeyeyhds"), encryptedText);
+
+        String[] decrypted = new String[1];
+        Thread thread = new Thread(() -> {
+            try {
+                decrypted[0] = aesKey.decrypt(encryptedText);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertEquals(originalText, decrypted[0]);
+        assertEquals(originalText, aesKey.decrypt(encryptedText));
+    }
+
+    @Test
+    void testAESBuffer() throws Exception {
+        SecureUtils.AesKey aesKey = SecureUtils.AesKey.of("myseckeyeyhds");
+        byte[] data = "Hello, AES Buffer!".getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer encrypted = ByteBuffer.allocateDirect(SecureUtils.AesKey.encryptedLength(data.length));
+        assertEquals(encrypted.capacity(), aesKey.encrypt(ByteBuffer.wrap(data), encrypted));
+        encrypted.flip();
+        ByteBuffer decrypted = ByteBuffer.allocateDirect(encrypted.remaining());
+        int length = aesKey.decrypt(encrypted, decrypted);
+        byte[] result = new byte[length];
+        decrypted.flip().get(result);
+        assertArrayEquals(data, result);
+
+        // 原地加解密
+        byte[] buffer = Arrays.copyOf(data, SecureUtils.AesKey.encryptedLength(data.length));
+        int encryptedLength = aesKey.encrypt(buffer, 0, data.length, buffer, 0);
+        assertArrayEquals(SecureUtils.encryptAES(data, "myseckeyeyhds"), Arrays.copyOf(buffer, encryptedLength));
+        int decryptedLength = aesKey.decrypt(buffer, 0, encryptedLength, buffer, 0);
+        assertArrayEquals(data, Arrays.copyOf(buffer, decryptedLength));
+    }
+
+    @Test
+    void testAESStream() throws Exception {
+        SecureUtils.AesKey aesKey = SecureUtils.AesKey.of("myseckeyeyhds");
+        byte[] data = new byte[200 * 1024 + 7];
+        new Random(1).nextBytes(data);
+
+        ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+        SecureUtils.encryptAES(new ByteArrayInputStream(data), encrypted, aesKey);
+        ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+        SecureUtils.decryptAES(new ByteArrayInputStream(encrypted.toByteArray()), decrypted, aesKey);
+        assertArrayEquals(data, decrypted.toByteArray());
+
+        byte[] truncated = Arrays.copyOf(encrypted.toByteArray(), encrypted.size() - 100);
+        assertThrows(IOException.class, () -> SecureUtils.decryptAES(new ByteArrayInputStream(truncated), new ByteArrayOutputStream(), aesKey));
+        byte[] trailing = Arrays.copyOf(encrypted.toByteArray(), encrypted.size() + 1);
+        assertThrows(IOException.class, () -> SecureUtils.decryptAES(new ByteArrayInputStream(trailing), new ByteArrayOutputStream(), aesKey));
+
+        // 加密和解密都不关闭调用方的流
+        boolean[] closed = new boolean[1];
+        ByteArrayOutputStream target = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        SecureUtils.encryptAES(new ByteArrayInputStream(data), target, aesKey);
+        assertFalse(closed[0]);
+        SecureUtils.decryptAES(new ByteArrayInputStream(target.toByteArray()), target, aesKey);
+        assertFalse(closed[0]);
+    }
+
+    @Test
+    void testAESFileChannel(@TempDir Path dir) throws Exception {
+        SecureUtils.AesKey aesKey = SecureUtils.AesKey.of("myseckeyeyhds");
+        byte[] data = new byte[130 * 1024];
+        new Random(2).nextBytes(data);
+        Path plain = Files.write(dir.resolve("plain"), data);
+        Path encrypted = dir.resolve("encrypted");
+        Path decrypted = dir.resolve("decrypted");
+
+        try (FileChannel src = FileChannel.open(plain, StandardOpenOption.READ);
+             FileChannel dst = FileChannel.open(encrypted, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            SecureUtils.encryptAES(src, dst, aesKey);
+        }
+        try (FileChannel src = FileChannel.open(encrypted, StandardOpenOption.READ);
+             FileChannel dst = FileChannel.open(decrypted, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            SecureUtils.decryptAES(src, dst, aesKey);
+        }
+        assertArrayEquals(data, Files.readAllBytes(decrypted));
+
+        Files.write(encrypted, new byte[]{0}, StandardOpenOption.APPEND);
+        try (FileChannel src = FileChannel.open(encrypted, StandardOpenOption.READ);
+             FileChannel dst = FileChannel.open(decrypted, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            assertThrows(IOException.class, () -> SecureUtils.decryptAES(src, dst, aesKey));
+        }
+
+        // 文件通道与流式加密使用相同的密文格式
+        byte[] encryptedBytes = Files.readAllBytes(encrypted);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SecureUtils.decryptAES(new ByteArrayInputStream(encryptedBytes, 0, encryptedBytes.length - 1), out, aesKey);
+        assertArrayEquals(data, out.toByteArray());
+    }
+
     @Test
     void testRSA() throws NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeySpecException, InvalidKeyException, SignatureException {
         Map<String, String> keyPair = SecureUtils.keyPairMap();
@@ -62,12 +190,120 @@ class SecureUtilsTest {
         assertTrue(isVerified);
     }
 
+    @Test
+    void testRSABuffer() throws Exception {
+        KeyPair keyPair = SecureUtils.keyPair();
+        byte[] data = "Hello, RSA Buffer!".getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer encrypted = ByteBuffer.allocateDirect(128);
+        SecureUtils.encryptRSA(ByteBuffer.wrap(data), encrypted, keyPair.getPublic());
+        ByteBuffer decrypted = ByteBuffer.allocate(128);
+        SecureUtils.decryptRSA(encrypted.flip(), decrypted, keyPair.getPrivate());
+        assertArrayEquals(data, Arrays.copyOf(decrypted.array(), decrypted.position()));
+
+        byte[] encryptedBytes = SecureUtils.encryptRSA(data, keyPair.getPublic());
+        assertArrayEquals(data, SecureUtils.decryptRSA(encryptedBytes, keyPair.getPrivate()));
+    }
+
+    @Test
+    void testKeyPairPool() throws Exception {
+        SecureUtils.enableKeyPairPool(512, 2);
+        try {
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (SecureUtils.keyPairPoolAvailable(512) < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(2, SecureUtils.keyPairPoolAvailable(512));
+
+            KeyPair first = SecureUtils.keyPair(512);
+            KeyPair second = SecureUtils.keyPair(512);
+            assertNotEquals(first.getPublic(), second.getPublic());
+            assertEquals(512, ((RSAPublicKey) first.getPublic()).getModulus().bitLength());
+        } finally {
+            SecureUtils.disableKeyPairPool(512);
+        }
+        assertEquals(0, SecureUtils.keyPairPoolAvailable(512));
+    }
+
+    @Test
+    void testKeyCache() throws NoSuchAlgorithmException, InvalidKeySpecException {
+        Map<String, String> keyPair = SecureUtils.keyPairMap();
+        String publicKey = keyPair.get(SecureUtils.PUBLIC_KEY);
+
+        CacheStats before = SecureUtils.publicKeyCacheStats();
+        PublicKey first = SecureUtils.getPublicKeyFromString(publicKey);
+        PublicKey second = SecureUtils.getPublicKeyFromString(publicKey);
+        CacheStats after = SecureUtils.publicKeyCacheStats();
+
+        assertSame(first, second);
+        assertTrue(after.missCount() >= before.missCount() + 1);
+        assertTrue(after.hitCount() >= before.hitCount() + 1);
+    }
+
+    @Test
+    void testRSABatch() throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        KeyPair keyPair = SecureUtils.keyPair();
+        List<byte[]> dataList = IntStream.range(0, 100)
+                .mapToObj(i -> ("message-" + i).getBytes(StandardCharsets.UTF_8))
+                .toList();
+
+        List<String> signs = SecureUtils.signRSA(dataList, keyPair.getPrivate());
+        assertEquals(dataList.size(), signs.size());
+        for (int i = 0; i < dataList.size(); i++) {
+            assertTrue(SecureUtils.verifyRSA(dataList.get(i), keyPair.getPublic(), signs.get(i)));
+        }
+
+        List<String> tampered = new ArrayList<>(signs);
+        tampered.set(3, signs.get(4));
+        tampered.set(5, "not-base64!");
+        boolean[] verified = SecureUtils.verifyRSA(dataList, keyPair.getPublic(), tampered);
+        for (int i = 0; i < verified.length; i++) {
+            assertEquals(i != 3 && i != 5, verified[i]);
+        }
+
+        // 验证失败后线程复用的签名对象重新初始化，不影响后续批次
+        boolean[] streamed = SecureUtils.verifyRSA(dataList.stream(), keyPair.getPublic(), SecureUtils.signRSA(dataList.stream(), keyPair.getPrivate()).stream());
+        for (boolean value : streamed) {
+            assertTrue(value);
+        }
+    }
+
+    @Test
+    void testEnvelope() throws GeneralSecurityException {
+        KeyPair keyPair = SecureUtils.keyPair();
+        SecureUtils.EnvelopeEncryptor encryptor = SecureUtils.envelopeEncryptor(keyPair.getPublic(), 2, Duration.ofMinutes(1));
+        SecureUtils.EnvelopeDecryptor decryptor = SecureUtils.envelopeDecryptor(keyPair.getPrivate());
+
+        // 超过117字节的明文也可以加密
+        String originalText = "Hello, Envelope!".repeat(20);
+        String first = encryptor.encrypt(originalText);
+        String second = encryptor.encrypt(originalText);
+        String third = encryptor.encrypt(originalText);
+        assertEquals(originalText, decryptor.decrypt(first));
+        assertEquals(originalText, decryptor.decrypt(second));
+        assertEquals(originalText, decryptor.decrypt(third));
+
+        // 前两条消息共用一个数据密钥，第三条更换了数据密钥
+        byte[] firstBytes = Base64.getDecoder().decode(first);
+        byte[] secondBytes = Base64.getDecoder().decode(second);
+        byte[] thirdBytes = Base64.getDecoder().decode(third);
+        assertArrayEquals(Arrays.copyOfRange(firstBytes, 0, 131), Arrays.copyOfRange(secondBytes, 0, 131));
+        assertFalse(Arrays.equals(Arrays.copyOfRange(firstBytes, 0, 131), Arrays.copyOfRange(thirdBytes, 0, 131)));
+
+        firstBytes[firstBytes.length - 1] ^= 1;
+        assertThrows(GeneralSecurityException.class, () -> decryptor.decrypt(firstBytes));
+    }
+
     @Test
     void maskPhoneNumber() {
         String phone = "18806608995";
         String masked = SecureUtils.maskPhoneNumber(phone);
         assertNotEquals(phone, masked);
         logger.info(masked);
+
+        for (String text : new String[]{"18806608995", "1234567", "123456", "tel:13800138000,0571-88886666x", "a1234567890123456789b"}) {
+            assertEquals(text.replaceAll("(\\d{3})\\d*(\\d{4})", "$1****$2"), SecureUtils.maskPhoneNumber(text));
+        }
     }
 
     @Test
@@ -76,5 +312,23 @@ class SecureUtilsTest {
         String masked = SecureUtils.maskEmail(email);
         assertNotEquals(email, masked);
         logger.info(masked);
+        assertEquals("d****@gmail.com", masked);
+        assertEquals("d@gmail.com", SecureUtils.maskEmail("d@gmail.com"));
+        assertEquals("no-email", SecureUtils.maskEmail("no-email"));
+    }
+
+    @Test
+    void maskAll() {
+        String line = "user=dante.syh@gmail.com phone=18806608995 id=11010119900307123X order=20230831";
+        assertEquals("user=d****@gmail.com phone=188****8995 id=110101****123X order=20230831", SecureUtils.maskAll(line));
+
+        SecureUtils.Masker masker = SecureUtils.maskerBuilder()
+                .idNumbers(3, 2)
+                .maskChar('#')
+                .maskLength(-1)
+                .build();
+        StringBuilder out = new StringBuilder();
+        masker.mask("id:110101199003071234,", out);
+        assertEquals("id:110#############34,", out.toString());
     }
 }
\ No newline at end of file
@@ -6,10 +6,25 @@ import java.text.ParseException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class TimeUtilsTest {
 
@@ -84,4 +99,323 @@ class TimeUtilsTest {
         assertEquals(expectedResult, actualResult);
     }
 
+    @Test
+    void testFormatterCache() throws ParseException {
+        assertSame(TimeUtils.formatter("yyyy-MM-dd'T'HH:mm"), TimeUtils.formatter("yyyy-MM-dd'T'HH:mm"));
+        assertSame(TimeUtils.formatter(TimeUtils.DATE_TIME_FORMAT), TimeUtils.formatter(TimeUtils.DATE_TIME_FORMAT));
+
+        CacheStats before = TimeUtils.formatterCacheStats();
+        TimeUtils.convertDateTimeFormat("31|08|2023", "dd|MM|yyyy", TimeUtils.DATE_TIME_FORMAT);
+        TimeUtils.convertDateTimeFormat("31|08|2023", "dd|MM|yyyy", TimeUtils.DATE_TIME_FORMAT);
+        CacheStats after = TimeUtils.formatterCacheStats();
+        assertEquals(before.hitCount() + 1, after.hitCount());
+        assertEquals(before.missCount() + 1, after.missCount());
+
+        // 缺少的字段取默认值，带偏移量的输入换算到系统默认时区
+        assertEquals("2023/08/31 00:00:00", TimeUtils.convertDateTimeFormat("2023-08-31", "yyyy-MM-dd", TimeUtils.DATE_TIME_FORMAT));
+        assertEquals("2023/08/01", TimeUtils.convertDateTimeFormat("2023-08", "yyyy-MM", TimeUtils.DATE_FORMAT));
+        assertEquals("1970/08/31", TimeUtils.convertDateTimeFormat("08-31", "MM-dd", TimeUtils.DATE_FORMAT));
+        assertEquals("1970/08/31", TimeUtils.convertDateTimeFormat("31/08", "dd/MM", TimeUtils.DATE_FORMAT));
+        assertEquals("2023/02/01", TimeUtils.convertDateTimeFormat("2023-032", "yyyy-DDD", TimeUtils.DATE_FORMAT));
+        // 12小时制没有上下午标记时按上午处理
+        assertEquals("03:15:00", TimeUtils.convertDateTimeFormat("03:15", "hh:mm", TimeUtils.TIME_FORMAT));
+        assertEquals("00:15:00", TimeUtils.convertDateTimeFormat("12:15", "hh:mm", TimeUtils.TIME_FORMAT));
+        assertEquals("15:15:00", TimeUtils.convertDateTimeFormat("03:15 PM", "hh:mm a", TimeUtils.TIME_FORMAT));
+        assertEquals("1970/01/01 10:00:30", TimeUtils.convertDateTimeFormat("10:30", "HH:ss", TimeUtils.DATE_TIME_FORMAT));
+        // 不存在的日期不会调整到月末
+        assertThrows(ParseException.class, () -> TimeUtils.convertDateTimeFormat("2023-02-30", "yyyy-MM-dd", TimeUtils.DATE_FORMAT));
+        assertThrows(ParseException.class, () -> TimeUtils.convertDateTimeFormat("02-30", "MM-dd", TimeUtils.DATE_FORMAT));
+        assertThrows(ParseException.class, () -> TimeUtils.convertDateTimeFormat("0000-01-01", "yyyy-MM-dd", TimeUtils.DATE_FORMAT));
+        assertThrows(ParseException.class, () -> TimeUtils.convertDateTimeFormat("13:15", "hh:mm", TimeUtils.TIME_FORMAT));
+        String expected = TimeUtils.convertDateTimeFormat(
+                Date.from(LocalDateTime.of(2023, 8, 31, 15, 30).atZone(ZoneId.of("UTC")).toInstant()));
+        assertEquals(expected, TimeUtils.convertDateTimeFormat("2023-08-31 15:30 +0000", "yyyy-MM-dd HH:mm Z", TimeUtils.DATE_TIME_FORMAT));
+
+        assertThrows(ParseException.class, () -> TimeUtils.convertDateTimeFormat("2023/08/31", "yyyy-MM-dd", TimeUtils.DATE_FORMAT));
+        assertThrows(IllegalArgumentException.class, () -> TimeUtils.formatter("yyyy-MM-dd bb"));
+    }
+
+    @Test
+    void testConvertDateTimeFormatDateConcurrent() throws InterruptedException {
+        Date date = Date.from(LocalDateTime.of(2023, 8, 31, 15, 30).atZone(ZoneId.systemDefault()).toInstant());
+        Thread[] threads = new Thread[8];
+        String[] failures = new String[threads.length];
+        for (int i = 0; i < threads.length; i++) {
+            int index = i;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    String result = TimeUtils.convertDateTimeFormat(date);
+                    if (!"2023/08/31 15:30:00".equals(result)) {
+                        failures[index] = result;
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, Arrays.stream(failures).filter(Objects::nonNull).count());
+    }
+
+    @Test
+    void testTimestampFormatter() {
+        String[] patterns = {TimeUtils.DATE_FORMAT, TimeUtils.DATE_TIME_FORMAT, TimeUtils.TIME_FORMAT};
+        String[] zones = {"UTC", "Asia/Shanghai", "America/New_York", "Australia/Lord_Howe", "Asia/Kolkata"};
+        Random random = new Random(42);
+        for (String zoneId : zones) {
+            ZoneId zone = ZoneId.of(zoneId);
+            for (String pattern : patterns) {
+                TimestampFormatter formatter = TimeUtils.timestampFormatter(pattern, zone);
+                DateTimeFormatter expected = DateTimeFormatter.ofPattern(pattern).withZone(zone);
+                // 跨越夏令时切换的递增时间戳，以及随机时间戳
+                long millis = LocalDateTime.of(2023, 3, 11, 23, 0).atZone(zone).toInstant().toEpochMilli();
+                for (int i = 0; i < 20000; i++) {
+                    millis += 997;
+                    assertEquals(expected.format(Instant.ofEpochMilli(millis)), formatter.format(millis));
+                }
+                for (int i = 0; i < 2000; i++) {
+                    long value = random.nextLong(-30_000_000_000_000L, 200_000_000_000_000L);
+                    assertEquals(expected.format(Instant.ofEpochMilli(value)), formatter.format(value));
+                }
+            }
+        }
+
+        TimestampFormatter formatter = TimeUtils.timestampFormatter(TimeUtils.DATE_TIME_FORMAT, ZoneId.of("UTC"));
+        StringBuilder builder = new StringBuilder("[");
+        formatter.formatTo(0L, builder);
+        assertEquals("[1970/01/01 00:00:00", builder.toString());
+        char[] chars = new char[21];
+        assertEquals(20, formatter.formatTo(-1L, chars, 1));
+        assertEquals("1969/12/31 23:59:59", new String(chars, 1, 19));
+        byte[] bytes = new byte[19];
+        assertEquals(19, formatter.formatTo(1693495800000L, bytes, 0));
+        assertArrayEquals("2023/08/31 15:30:00".getBytes(), bytes);
+        assertThrows(IndexOutOfBoundsException.class, () -> formatter.formatTo(0L, new char[18], 0));
+        assertThrows(IllegalArgumentException.class, () -> TimeUtils.timestampFormatter("yyyy-MM-dd"));
+    }
+
+    @Test
+    void testBulkConvert() throws ParseException {
+        String inputFormat = "yyyy-MM-dd HH:mm:ss";
+        // 超过并行阈值，包含格式错误和null的行
+        int size = TimeUtils.BULK_PARALLEL_THRESHOLD * 3 + 7;
+        String[] inputs = new String[size];
+        LocalDateTime start = LocalDateTime.of(2023, 8, 31, 15, 30);
+        for (int i = 0; i < size; i++) {
+            inputs[i] = start.plusMinutes(i).format(DateTimeFormatter.ofPattern(inputFormat));
+        }
+        inputs[5] = "2023/08/31 15:30:00";
+        inputs[size - 1] = "bad";
+        inputs[100] = null;
+
+        TimeConversionResult result = TimeUtils.convertDateTimeFormat(inputs, inputFormat, TimeUtils.DATE_TIME_FORMAT);
+        assertFalse(result.isSuccess());
+        assertEquals(size, result.values().size());
+        assertEquals(2, result.failures().size());
+        assertEquals(5, result.failures().get(0).index());
+        assertEquals("2023/08/31 15:30:00", result.failures().get(0).input());
+        assertEquals(size - 1, result.failures().get(1).index());
+        assertNull(result.values().get(5));
+        assertNull(result.values().get(100));
+        for (int i : new int[]{0, 1, TimeUtils.BULK_PARALLEL_THRESHOLD, size - 2}) {
+            assertEquals(TimeUtils.convertDateTimeFormat(inputs[i], inputFormat, TimeUtils.DATE_TIME_FORMAT), result.values().get(i));
+        }
+
+        TimeConversionResult listResult = TimeUtils.convertDateTimeFormat(List.of("2023-08-31", "2023-09-01"), "yyyy-MM-dd", "dd.MM.yyyy");
+        assertTrue(listResult.isSuccess());
+        assertEquals(List.of("31.08.2023", "01.09.2023"), listResult.values());
+        TimeConversionResult streamResult = TimeUtils.convertDateTimeFormat(Stream.of("x", "2023-08-31"), "yyyy-MM-dd", TimeUtils.DATE_FORMAT);
+        assertEquals(0, streamResult.failures().get(0).index());
+        assertEquals("2023/08/31", streamResult.values().get(1));
+
+        long[] epochMillis = new long[size];
+        for (int i = 0; i < size; i++) {
+            epochMillis[i] = 1693495800000L + i * 61_001L;
+        }
+        for (String pattern : new String[]{TimeUtils.DATE_TIME_FORMAT, "yyyy-MM-dd'T'HH:mm:ss.SSS"}) {
+            String[] formatted = TimeUtils.convertDateTimeFormat(epochMillis, pattern);
+            for (int i = 0; i < size; i += 97) {
+                assertEquals(TimeUtils.convertDateTimeFormat(new Date(epochMillis[i]), pattern), formatted[i]);
+            }
+        }
+        // 超出TimestampFormatter年份范围的时间戳不影响同批的其他行
+        long[] outOfRange = {epochMillis[0], 253402300800000L, -62135596800001L};
+        DateTimeFormatter expected = DateTimeFormatter.ofPattern(TimeUtils.DATE_TIME_FORMAT).withZone(ZoneId.systemDefault());
+        String[] formatted = TimeUtils.convertDateTimeFormat(outOfRange, TimeUtils.DATE_TIME_FORMAT);
+        for (int i = 0; i < outOfRange.length; i++) {
+            assertEquals(expected.format(Instant.ofEpochMilli(outOfRange[i])), formatted[i]);
+        }
+    }
+
+    @Test
+    void testCachedClock() throws InterruptedException {
+        CachedClock shared = TimeUtils.cachedClock();
+        assertSame(shared, TimeUtils.cachedClock());
+        assertTrue(Math.abs(System.currentTimeMillis() - shared.currentTimeMillis()) < 1000);
+        // 共享实例关闭后仍然继续刷新
+        try (CachedClock clock = TimeUtils.cachedClock()) {
+            assertSame(shared, clock);
+        }
+        long sharedBefore = shared.currentTimeMillis();
+        Thread.sleep(50);
+        assertTrue(shared.currentTimeMillis() > sharedBefore);
+
+        ZoneId zone = ZoneId.of("Asia/Shanghai");
+        TimestampFormatter formatter = TimeUtils.timestampFormatter(TimeUtils.DATE_TIME_FORMAT, zone);
+        try (CachedClock clock = TimeUtils.cachedClock(5, zone)) {
+            long first = clock.currentTimeMillis();
+            Thread.sleep(50);
+            assertTrue(clock.currentTimeMillis() > first);
+            // 两次读取毫秒时间戳在同一秒内时，字符串必然对应这一秒
+            for (int i = 0; i < 10; i++) {
+                long before = clock.currentTimeMillis();
+                String dateTime = clock.dateTime();
+                long after = clock.currentTimeMillis();
+                if (before / 1000 == after / 1000) {
+                    assertEquals(formatter.format(before), dateTime);
+                    assertEquals(dateTime.substring(0, 10), clock.date());
+                    break;
+                }
+            }
+            assertEquals(8, clock.time().length());
+            clock.close();
+            Thread.sleep(20);
+            long stopped = clock.currentTimeMillis();
+            Thread.sleep(20);
+            assertEquals(stopped, clock.currentTimeMillis());
+        }
+        assertThrows(IllegalArgumentException.class, () -> TimeUtils.cachedClock(0, zone));
+    }
+
+    @Test
+    void testTimestampParser() throws ParseException {
+        ZoneId zone = ZoneId.of("Asia/Shanghai");
+        String[] patterns = {
+                "yyyy-MM-dd HH:mm:ss", TimeUtils.DATE_FORMAT, "dd.MM.yyyy", "MM.dd.yyyy", "yyyyMMddHHmmss",
+                "yyyy-MM-dd'T'HH:mm:ss.SSS", "yyyy-MM-dd'T'HH:mm:ssXXX", "H:mm", "'d'''yyyy"
+        };
+        TimestampParser parser = TimeUtils.timestampParser(zone, patterns);
+
+        assertEquals(LocalDateTime.of(2023, 8, 31, 15, 30, 5), parser.parse("2023-08-31 15:30:05"));
+        assertEquals(LocalDateTime.of(2023, 8, 31, 0, 0), parser.parse("2023/08/31"));
+        assertEquals(LocalDateTime.of(2023, 8, 1, 0, 0), parser.parse("01.08.2023"));
+        // 13不是合法的月份，按配置顺序尝试下一个同样布局的格式
+        assertEquals(LocalDateTime.of(2023, 8, 13, 0, 0), parser.parse("08.13.2023"));
+        assertEquals("MM.dd.yyyy", parser.patternOf("08.13.2023"));
+        assertEquals(LocalDateTime.of(2023, 8, 31, 15, 30, 5), parser.parse("20230831153005"));
+        assertEquals(LocalDateTime.of(2023, 8, 31, 15, 30, 5, 123_000_000), parser.parse("2023-08-31T15:30:05.123"));
+        assertEquals(LocalDateTime.of(2023, 1, 1, 0, 0), parser.parse("d'2023"));
+        assertEquals(LocalDateTime.of(1970, 1, 1, 9, 5), parser.parse("9:05"));
+        assertEquals("H:mm", parser.patternOf("9:05"));
+
+        // 带偏移量的输入换算到解析器的时区
+        assertEquals(LocalDateTime.of(2023, 8, 31, 23, 30, 5), parser.parse("2023-08-31T15:30:05Z"));
+        assertEquals(LocalDateTime.of(2023, 8, 31, 15, 30, 5).atZone(zone).toInstant().toEpochMilli(),
+                parser.parseEpochMillis("2023-08-31 15:30:05"));
+        assertEquals(1693495805123L, TimeUtils.timestampParser(ZoneId.of("UTC"), patterns).parseEpochMillis("2023-08-31T15:30:05.123"));
+
+        assertNull(parser.patternOf("2023-02-30 15:30:05"));
+        assertThrows(ParseException.class, () -> parser.parse("2023-02-30 15:30:05"));
+        assertThrows(ParseException.class, () -> parser.parse("31/08/2023"));
+        assertThrows(ParseException.class, () -> parser.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> TimeUtils.timestampParser());
+    }
+
+    @Test
+    void testTimestampParserPolicy() throws ParseException {
+        // 数字布局与DateTimeFormatter（可选段无法编译为布局）对同样的输入结果一致
+        ZoneId zone = ZoneId.of("America/New_York");
+        String[] inputs = {
+                "2023-08-31 15:30", "2024-02-29 00:00", "2023-02-29 00:00", "2023-02-30 10:00", "2023-04-31 10:00",
+                "0000-01-01 00:00", "2023-03-12 02:30", "2023-11-05 01:30", "2023-13-01 00:00", "2023-01-01 24:00",
+                "2023-01-01 23:60"
+        };
+        for (String year : new String[]{"yyyy", "uuuu"}) {
+            TimestampParser layout = TimeUtils.timestampParser(zone, year + "-MM-dd HH:mm");
+            TimestampParser formatter = TimeUtils.timestampParser(zone, year + "-MM-dd HH:mm[:ss]");
+            for (String input : inputs) {
+                assertEquals(parseOrNull(formatter, input), parseOrNull(layout, input), year + " " + input);
+            }
+        }
+        TimestampParser yearOfEra = TimeUtils.timestampParser(zone, "yyyy-MM-dd HH:mm");
+        TimestampParser prolepticYear = TimeUtils.timestampParser(zone, "uuuu-MM-dd HH:mm");
+        assertNull(parseOrNull(yearOfEra, "0000-01-01 00:00"));
+        assertEquals(LocalDateTime.of(0, 1, 1, 0, 0), parseOrNull(prolepticYear, "0000-01-01 00:00"));
+        assertNull(parseOrNull(yearOfEra, "2023-02-30 10:00"));
+        // 夏令时跳过的本地时间向后顺延
+        assertEquals(LocalDateTime.of(2023, 3, 12, 3, 30), parseOrNull(yearOfEra, "2023-03-12 02:30"));
+
+        // 夏令时结束时重复的本地时间，带偏移量的输入按自身偏移量换算，不带的取较早的偏移量
+        TimestampParser offsets = TimeUtils.timestampParser(zone, "yyyy-MM-dd HH:mm Z", "yyyy-MM-dd HH:mm");
+        assertEquals(Instant.parse("2023-11-05T05:30:00Z").toEpochMilli(), offsets.parseEpochMillis("2023-11-05 01:30 -0400"));
+        assertEquals(Instant.parse("2023-11-05T06:30:00Z").toEpochMilli(), offsets.parseEpochMillis("2023-11-05 01:30 -0500"));
+        assertEquals(Instant.parse("2023-11-05T05:30:00Z").toEpochMilli(), offsets.parseEpochMillis("2023-11-05 01:30"));
+    }
+
+    private static LocalDateTime parseOrNull(TimestampParser parser, String text) {
+        try {
+            return parser.parse(text);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    @Test
+    void testTimeBucketer() {
+        String[] zones = {"UTC", "America/New_York", "Australia/Lord_Howe", "Asia/Kolkata"};
+        ChronoUnit[] units = {ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.DAYS};
+        Random random = new Random(7);
+        for (String zoneId : zones) {
+            ZoneId zone = ZoneId.of(zoneId);
+            for (ChronoUnit unit : units) {
+                TimeBucketer bucketer = TimeUtils.timeBucketer(unit, zone);
+                // 覆盖夏令时切换前后的时间戳
+                long millis = LocalDateTime.of(2023, 3, 10, 0, 0).atZone(zone).toInstant().toEpochMilli();
+                for (int i = 0; i < 20000; i++) {
+                    millis += 59_999 + random.nextInt(120_000);
+                    long expected = Instant.ofEpochMilli(millis).atZone(zone).truncatedTo(unit).toInstant().toEpochMilli();
+                    if (unit == ChronoUnit.DAYS) {
+                        expected = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate().atStartOfDay(zone).toInstant().toEpochMilli();
+                    }
+                    assertEquals(expected, bucketer.truncate(millis), zoneId + " " + unit + " " + millis);
+                }
+            }
+        }
+
+        ZoneId zone = ZoneId.of("America/New_York");
+        TimeBucketer hours = TimeUtils.timeBucketer(ChronoUnit.HOURS, zone);
+        long base = LocalDateTime.of(2023, 11, 5, 0, 30).atZone(zone).toInstant().toEpochMilli();
+        long[] sorted = new long[7];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = base + i * 30 * 60_000L;
+        }
+        TimeBuckets buckets = hours.group(sorted);
+        // 11月5日1点重复出现，两个1点的时间桶分开统计
+        assertEquals(4, buckets.size());
+        assertArrayEquals(new String[]{"2023/11/05 00:00:00", "2023/11/05 01:00:00", "2023/11/05 01:00:00", "2023/11/05 02:00:00"},
+                buckets.labels());
+        assertEquals(1, buckets.count(0));
+        assertEquals(1, buckets.from(1));
+        assertEquals(3, buckets.to(1));
+        assertEquals(2, buckets.count(3));
+        assertEquals("2023/11/05 02:00:00", buckets.label(3));
+
+        TimeBucketer days = TimeUtils.timeBucketer(ChronoUnit.DAYS, zone);
+        long[] unsorted = {sorted[6], sorted[0], base - 3_600_000L, sorted[3]};
+        TimeBuckets counts = days.count(unsorted);
+        assertEquals(2, counts.size());
+        assertEquals("2023/11/04", counts.label(0));
+        assertEquals(1, counts.count(0));
+        assertEquals(3, counts.count(1));
+        assertThrows(IllegalStateException.class, () -> counts.from(0));
+        assertEquals(0, days.group(new long[0]).size());
+
+        long[] truncated = sorted.clone();
+        days.truncate(truncated, truncated);
+        assertEquals(LocalDateTime.of(2023, 11, 5, 0, 0).atZone(zone).toInstant().toEpochMilli(), truncated[6]);
+        assertThrows(IllegalArgumentException.class, () -> hours.group(unsorted));
+        assertThrows(IllegalArgumentException.class, () -> TimeUtils.timeBucketer(ChronoUnit.WEEKS));
+    }
+
 }